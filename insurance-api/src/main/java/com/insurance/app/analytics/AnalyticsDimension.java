@@ -0,0 +1,32 @@
+package com.insurance.app.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Dictionary encoded columns of the analytics snapshot that results can be grouped and filtered by
+ */
+@Getter
+@AllArgsConstructor
+public enum AnalyticsDimension {
+
+    PROVIDER("provider"),
+    COVERAGE_TYPE("coverageType"),
+    VEHICLE_MAKE("vehicleMake"),
+    VEHICLE_YEAR("vehicleYear"),
+    STATUS("status");
+
+    private final String apiName;
+
+    /**
+     * Resolve a dimension from its API name
+     */
+    public static AnalyticsDimension fromApiName(String apiName) {
+        for (AnalyticsDimension dimension : values()) {
+            if (dimension.apiName.equals(apiName)) {
+                return dimension;
+            }
+        }
+        throw new RuntimeException("Unsupported group by field: " + apiName);
+    }
+}
@@ -0,0 +1,32 @@
+package com.insurance.app.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Amount columns of the analytics snapshot, held as long cents
+ */
+@Getter
+@AllArgsConstructor
+public enum AnalyticsMeasure {
+
+    PREMIUM_AMOUNT("premiumAmount"),
+    DEDUCTIBLE_AMOUNT("deductibleAmount"),
+    LIABILITY_COVERAGE_AMOUNT("liabilityCoverageAmount"),
+    COMPREHENSIVE_COVERAGE_AMOUNT("comprehensiveCoverageAmount"),
+    COLLISION_COVERAGE_AMOUNT("collisionCoverageAmount");
+
+    private final String apiName;
+
+    /**
+     * Resolve a measure from its API name
+     */
+    public static AnalyticsMeasure fromApiName(String apiName) {
+        for (AnalyticsMeasure measure : values()) {
+            if (measure.apiName.equals(apiName)) {
+                return measure;
+            }
+        }
+        throw new RuntimeException("Unsupported measure: " + apiName);
+    }
+}
@@ -0,0 +1,380 @@
+package com.insurance.app.analytics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar snapshot of every policy for group-by aggregates
+ *
+ * Amounts are long cents, one primitive array per measure with NULL marking a missing value.
+ * Provider, coverage type, make, year and status are dictionary encoded into int code arrays.
+ * Aggregation first assigns each row a dense group number, then scans each measure array in
+ * parallel chunks with per-chunk count and sum arrays, and sorts each group's values once for
+ * min, max and exact percentiles. The inner loops touch only primitive arrays, so they stay
+ * cache friendly and the JIT can unroll and vectorize them.
+ */
+public final class PolicyColumns {
+
+    /**
+     * Cents value marking a missing amount
+     */
+    public static final long NULL = Long.MIN_VALUE;
+
+    private static final AnalyticsDimension[] DIMENSIONS = AnalyticsDimension.values();
+    private static final AnalyticsMeasure[] MEASURES = AnalyticsMeasure.values();
+
+    // Rows per parallel scan chunk
+    private static final int CHUNK_ROWS = 1 << 16;
+
+    // Largest product of group by cardinalities that is indexed directly rather than through a hash map
+    private static final int DENSE_GROUP_LIMIT = 1 << 20;
+
+    // Groups at least this large are sorted with parallelSort on their own
+    private static final int PARALLEL_SORT_ROWS = 1 << 16;
+
+    private final int rows;
+    private final int[][] codes;
+    private final List<List<Object>> dictionaries;
+    private final long[][] cents;
+    private final LocalDateTime builtAt;
+
+    private PolicyColumns(int rows, int[][] codes, List<List<Object>> dictionaries, long[][] cents,
+            LocalDateTime builtAt) {
+        this.rows = rows;
+        this.codes = codes;
+        this.dictionaries = dictionaries;
+        this.cents = cents;
+        this.builtAt = builtAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static PolicyColumns empty() {
+        return builder().build(LocalDateTime.now());
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * Aggregate the measures over the rows matching every filter, grouped by the given dimensions
+     * Groups are ordered by key, percentiles are nearest rank on the exact values
+     */
+    public List<GroupAggregate> aggregate(List<AnalyticsDimension> groupBy, List<AnalyticsMeasure> measures,
+            Map<AnalyticsDimension, Object> filters, double[] percentiles) {
+        Grouping grouping = group(groupBy, filters);
+
+        Map<AnalyticsMeasure, MeasureAggregate[]> byMeasure = new EnumMap<>(AnalyticsMeasure.class);
+        for (AnalyticsMeasure measure : measures) {
+            byMeasure.put(measure, aggregate(cents[measure.ordinal()], grouping, percentiles));
+        }
+
+        List<GroupAggregate> result = new ArrayList<>(grouping.count);
+        for (int g = 0; g < grouping.count; g++) {
+            Map<AnalyticsMeasure, MeasureAggregate> groupMeasures = new EnumMap<>(AnalyticsMeasure.class);
+            for (AnalyticsMeasure measure : measures) {
+                groupMeasures.put(measure, byMeasure.get(measure)[g]);
+            }
+            result.add(new GroupAggregate(grouping.keys.get(g), grouping.sizes[g], groupMeasures));
+        }
+        result.sort(Comparator.comparing(GroupAggregate::key, PolicyColumns::compareKeys));
+        return result;
+    }
+
+    /**
+     * Assign every row a dense group number, -1 for rows a filter excludes
+     */
+    private Grouping group(List<AnalyticsDimension> groupBy, Map<AnalyticsDimension, Object> filters) {
+        int[] filterDimensions = new int[filters.size()];
+        int[] filterCodes = new int[filters.size()];
+        int f = 0;
+        for (Map.Entry<AnalyticsDimension, Object> filter : filters.entrySet()) {
+            // A value missing from the dictionary gets code -1, which no row has
+            filterDimensions[f] = filter.getKey().ordinal();
+            filterCodes[f++] = dictionaries.get(filter.getKey().ordinal()).indexOf(filter.getValue());
+        }
+
+        int[][] groupCodes = new int[groupBy.size()][];
+        int[] radix = new int[groupBy.size()];
+        long product = 1;
+        for (int d = 0; d < groupBy.size(); d++) {
+            groupCodes[d] = codes[groupBy.get(d).ordinal()];
+            radix[d] = Math.max(1, dictionaries.get(groupBy.get(d).ordinal()).size());
+            product *= radix[d];
+        }
+
+        // Mixed radix composite of the group by codes, computed in parallel
+        long[] composite = new long[rows];
+        parallelChunks(rows, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                boolean included = true;
+                for (int i = 0; i < filterDimensions.length && included; i++) {
+                    included = codes[filterDimensions[i]][row] == filterCodes[i];
+                }
+                long key = 0;
+                for (int d = 0; d < groupCodes.length; d++) {
+                    key = key * radix[d] + groupCodes[d][row];
+                }
+                composite[row] = included ? key : -1;
+            }
+        });
+
+        // Number the composites that occur, in first seen order
+        int[] group = new int[rows];
+        List<long[]> seen = new ArrayList<>();
+        if (product <= DENSE_GROUP_LIMIT) {
+            int[] dense = new int[(int) product];
+            Arrays.fill(dense, -1);
+            for (int row = 0; row < rows; row++) {
+                long key = composite[row];
+                if (key < 0) {
+                    group[row] = -1;
+                    continue;
+                }
+                int g = dense[(int) key];
+                if (g < 0) {
+                    g = seen.size();
+                    dense[(int) key] = g;
+                    seen.add(new long[] { key, 0 });
+                }
+                seen.get(g)[1]++;
+                group[row] = g;
+            }
+        } else {
+            Map<Long, Integer> sparse = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                long key = composite[row];
+                if (key < 0) {
+                    group[row] = -1;
+                    continue;
+                }
+                Integer g = sparse.get(key);
+                if (g == null) {
+                    g = seen.size();
+                    sparse.put(key, g);
+                    seen.add(new long[] { key, 0 });
+                }
+                seen.get(g)[1]++;
+                group[row] = g;
+            }
+        }
+
+        long[] sizes = new long[seen.size()];
+        List<Object[]> keys = new ArrayList<>(seen.size());
+        for (int g = 0; g < seen.size(); g++) {
+            sizes[g] = seen.get(g)[1];
+            keys.add(decode(groupBy, radix, seen.get(g)[0]));
+        }
+        // An empty filtered result still reports a group when nothing is grouped
+        if (seen.isEmpty() && groupBy.isEmpty()) {
+            return new Grouping(group, 1, new long[1], List.<Object[]>of(new Object[0]));
+        }
+        return new Grouping(group, seen.size(), sizes, keys);
+    }
+
+    /**
+     * Count, sum, min, max and percentiles of one measure per group
+     */
+    private MeasureAggregate[] aggregate(long[] values, Grouping grouping, double[] percentiles) {
+        int groups = grouping.count;
+        int[] group = grouping.rows;
+
+        // Parallel count and sum, each chunk into its own arrays
+        int chunks = chunkCount(rows);
+        long[][] partialCounts = new long[chunks][];
+        long[][] partialSums = new long[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            long[] count = new long[groups];
+            long[] sum = new long[groups];
+            int to = Math.min(rows, (chunk + 1) * CHUNK_ROWS);
+            for (int row = chunk * CHUNK_ROWS; row < to; row++) {
+                int g = group[row];
+                long value = values[row];
+                if (g >= 0 && value != NULL) {
+                    count[g]++;
+                    sum[g] += value;
+                }
+            }
+            partialCounts[chunk] = count;
+            partialSums[chunk] = sum;
+        });
+        long[] counts = new long[groups];
+        long[] sums = new long[groups];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            for (int g = 0; g < groups; g++) {
+                counts[g] += partialCounts[chunk][g];
+                sums[g] += partialSums[chunk][g];
+            }
+        }
+
+        // Scatter each group's values into its own slice and sort the slices
+        int[] offsets = new int[groups + 1];
+        for (int g = 0; g < groups; g++) {
+            offsets[g + 1] = offsets[g] + (int) counts[g];
+        }
+        long[] sorted = new long[offsets[groups]];
+        int[] next = Arrays.copyOf(offsets, groups);
+        for (int row = 0; row < rows; row++) {
+            int g = group[row];
+            long value = values[row];
+            if (g >= 0 && value != NULL) {
+                sorted[next[g]++] = value;
+            }
+        }
+        for (int g = 0; g < groups; g++) {
+            if (counts[g] >= PARALLEL_SORT_ROWS) {
+                Arrays.parallelSort(sorted, offsets[g], offsets[g + 1]);
+            }
+        }
+        IntStream.range(0, groups).parallel()
+                .filter(g -> counts[g] < PARALLEL_SORT_ROWS)
+                .forEach(g -> Arrays.sort(sorted, offsets[g], offsets[g + 1]));
+
+        MeasureAggregate[] result = new MeasureAggregate[groups];
+        for (int g = 0; g < groups; g++) {
+            int from = offsets[g];
+            int count = (int) counts[g];
+            long[] percentileValues = new long[percentiles.length];
+            for (int p = 0; p < percentiles.length; p++) {
+                int rank = (int) Math.ceil(percentiles[p] / 100.0 * count);
+                percentileValues[p] = count == 0 ? NULL : sorted[from + Math.max(0, rank - 1)];
+            }
+            result[g] = new MeasureAggregate(count, sums[g],
+                    count == 0 ? NULL : sorted[from], count == 0 ? NULL : sorted[from + count - 1], percentileValues);
+        }
+        return result;
+    }
+
+    private Object[] decode(List<AnalyticsDimension> groupBy, int[] radix, long composite) {
+        Object[] key = new Object[groupBy.size()];
+        for (int d = groupBy.size() - 1; d >= 0; d--) {
+            int code = (int) (composite % radix[d]);
+            composite /= radix[d];
+            List<Object> dictionary = dictionaries.get(groupBy.get(d).ordinal());
+            key[d] = dictionary.isEmpty() ? null : dictionary.get(code);
+        }
+        return key;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareKeys(Object[] left, Object[] right) {
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] == null || right[i] == null) {
+                if (left[i] != right[i]) {
+                    return left[i] == null ? -1 : 1;
+                }
+                continue;
+            }
+            int order = ((Comparable) left[i]).compareTo(right[i]);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+
+    private static int chunkCount(int rows) {
+        return Math.max(1, (rows + CHUNK_ROWS - 1) / CHUNK_ROWS);
+    }
+
+    private static void parallelChunks(int rows, ChunkTask task) {
+        IntStream.range(0, chunkCount(rows)).parallel()
+                .forEach(chunk -> task.run(chunk * CHUNK_ROWS, Math.min(rows, (chunk + 1) * CHUNK_ROWS)));
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int from, int to);
+    }
+
+    private record Grouping(int[] rows, int count, long[] sizes, List<Object[]> keys) {
+    }
+
+    /**
+     * Aggregates of one group, the key holds the decoded group by values in request order
+     */
+    public record GroupAggregate(Object[] key, long policies, Map<AnalyticsMeasure, MeasureAggregate> measures) {
+    }
+
+    /**
+     * Aggregates of one measure in one group, in cents, NULL where the group has no value
+     */
+    public record MeasureAggregate(long count, long sum, long min, long max, long[] percentiles) {
+    }
+
+    /**
+     * Appends rows, encoding dimension values on the way in
+     */
+    public static final class Builder {
+
+        private final List<List<Object>> dictionaries = new ArrayList<>();
+        private final List<Map<Object, Integer>> codeByValue = new ArrayList<>();
+        private int[][] codes = new int[DIMENSIONS.length][1024];
+        private long[][] cents = new long[MEASURES.length][1024];
+        private int rows;
+
+        private Builder() {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                dictionaries.add(new ArrayList<>());
+                codeByValue.add(new HashMap<>());
+            }
+        }
+
+        /**
+         * Append a row, values indexed by AnalyticsDimension and AnalyticsMeasure ordinal, null cents are missing
+         */
+        public Builder add(Object[] dimensionValues, Long[] measureCents) {
+            if (rows == codes[0].length) {
+                int capacity = rows + (rows >> 1);
+                for (int d = 0; d < codes.length; d++) {
+                    codes[d] = Arrays.copyOf(codes[d], capacity);
+                }
+                for (int m = 0; m < cents.length; m++) {
+                    cents[m] = Arrays.copyOf(cents[m], capacity);
+                }
+            }
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                List<Object> dictionary = dictionaries.get(d);
+                codes[d][rows] = codeByValue.get(d).computeIfAbsent(dimensionValues[d], value -> {
+                    dictionary.add(value);
+                    return dictionary.size() - 1;
+                });
+            }
+            for (int m = 0; m < MEASURES.length; m++) {
+                cents[m][rows] = measureCents[m] != null ? measureCents[m] : NULL;
+            }
+            rows++;
+            return this;
+        }
+
+        public PolicyColumns build(LocalDateTime builtAt) {
+            int[][] trimmedCodes = new int[codes.length][];
+            for (int d = 0; d < codes.length; d++) {
+                trimmedCodes[d] = Arrays.copyOf(codes[d], rows);
+            }
+            long[][] trimmedCents = new long[cents.length][];
+            for (int m = 0; m < cents.length; m++) {
+                trimmedCents[m] = Arrays.copyOf(cents[m], rows);
+            }
+            List<List<Object>> frozen = dictionaries.stream()
+                    .map(dictionary -> Collections.unmodifiableList(new ArrayList<>(dictionary)))
+                    .toList();
+            return new PolicyColumns(rows, trimmedCodes, frozen, trimmedCents, builtAt);
+        }
+    }
+}
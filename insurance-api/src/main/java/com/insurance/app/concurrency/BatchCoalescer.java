@@ -0,0 +1,140 @@
+package com.insurance.app.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Merges single-key lookups arriving close together into one batched load
+ *
+ * A lookup arriving while no load is running is loaded at once, on its own. Lookups arriving while
+ * loads are running queue up in a batch: its first caller becomes the leader, waits out the window,
+ * then loads every key queued in the meantime with one call and hands each caller its value. A
+ * batch reaching maxBatchSize is loaded at once by the caller that filled it. Concurrent lookups of
+ * the same key in a batch share one slot. No extra threads are involved, loads run on the caller's
+ * request thread, so they see the same transaction, security and metrics context as an unbatched lookup.
+ *
+ * A zero window turns coalescing off and loads every key on its own.
+ */
+public class BatchCoalescer<K, V> {
+
+    private final Function<List<K>, Map<K, V>> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    // Batch still accepting keys, and the number of loads running, guarded by this
+    private Batch<K, V> open;
+    private int loading;
+
+    /**
+     * @param loader loads a batch of distinct keys, keys missing from the returned map have no value
+     */
+    public BatchCoalescer(Function<List<K>, Map<K, V>> loader, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.loader = loader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Value of the key, null when the loader found none
+     * Blocks for one load when idle, otherwise for at most the window plus one load
+     */
+    public V get(K key) {
+        if (windowNanos <= 0) {
+            return loader.apply(List.of(key)).get(key);
+        }
+
+        Batch<K, V> batch;
+        CompletableFuture<V> result;
+        boolean leader = false;
+        boolean loadNow;
+        synchronized (this) {
+            if (open == null && loading == 0) {
+                // Nothing running to batch behind, so waiting would only add latency
+                batch = new Batch<>();
+                loadNow = true;
+            } else {
+                leader = open == null;
+                if (leader) {
+                    open = new Batch<>();
+                }
+                batch = open;
+                loadNow = false;
+            }
+            result = batch.slots.computeIfAbsent(key, k -> new CompletableFuture<>());
+            loadNow |= batch.slots.size() >= maxBatchSize;
+            if (loadNow) {
+                if (open == batch) {
+                    open = null;
+                }
+                loading++;
+            }
+        }
+
+        if (loadNow) {
+            load(batch);
+        } else if (leader) {
+            long deadline = System.nanoTime() + windowNanos;
+            for (long remaining = windowNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (close(batch)) {
+                load(batch);
+            }
+        }
+        return await(result);
+    }
+
+    /**
+     * Stop the batch accepting keys and count its load, false when a full batch was already closed by its last caller
+     */
+    private synchronized boolean close(Batch<K, V> batch) {
+        if (open != batch) {
+            return false;
+        }
+        open = null;
+        loading++;
+        return true;
+    }
+
+    private void load(Batch<K, V> batch) {
+        List<K> keys = new ArrayList<>(batch.slots.keySet());
+        try {
+            Map<K, V> values = loader.apply(keys);
+            batch.slots.forEach((key, slot) -> slot.complete(values.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.slots.values().forEach(slot -> slot.completeExceptionally(e));
+            throw e;
+        } finally {
+            synchronized (this) {
+                loading--;
+            }
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Rethrow the loader's own exception, as an unbatched lookup would
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch<K, V> {
+        // Only modified while the batch is open, under the coalescer's lock
+        private final Map<K, CompletableFuture<V>> slots = new LinkedHashMap<>();
+    }
+}
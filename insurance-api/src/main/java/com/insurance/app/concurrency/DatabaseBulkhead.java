@@ -0,0 +1,87 @@
+package com.insurance.app.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.util.Constants;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps the number of units of database work running at once
+ *
+ * With virtual threads every request gets a thread, so nothing upstream limits how many try to
+ * borrow a database connection. Callers queue here on a fair semaphore sized to the connection
+ * pool instead of piling up inside Hikari, and only work that will get a connection promptly is
+ * started. Nested calls on the same thread reuse the permit of the outermost one.
+ *
+ * Entered around @Transactional service calls (DatabaseBulkheadAspect) and around the coalesced
+ * policy lookups (PolicyLookupCoalescer). Enabled by a positive app.db.max-concurrency, see the
+ * virtual-threads profile.
+ */
+@Component
+@ConditionalOnExpression("${app.db.max-concurrency:0} > 0")
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ThreadLocal<Boolean> holding = new ThreadLocal<>();
+
+    @Autowired
+    public DatabaseBulkhead(@Value("${app.db.max-concurrency}") int maxConcurrency,
+            @Value("${app.db.acquire-timeout:30s}") Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+
+        Gauge.builder("db.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Database work waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Database permits not in use")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the work holding a permit, waiting at most app.db.acquire-timeout for one
+     */
+    public <T, E extends Throwable> T call(Work<T, E> work) throws E {
+        if (holding.get() != null) {
+            return work.run();
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException(Constants.ERROR_DATABASE_BUSY + acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(Constants.ERROR_DATABASE_BUSY + acquireTimeout, e);
+        }
+        holding.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Database work run under a permit
+     */
+    @FunctionalInterface
+    public interface Work<T, E extends Throwable> {
+
+        T run() throws E;
+    }
+}
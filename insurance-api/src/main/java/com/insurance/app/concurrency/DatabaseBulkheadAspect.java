@@ -0,0 +1,35 @@
+package com.insurance.app.concurrency;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs @Transactional service calls under the DatabaseBulkhead
+ * Runs before the transaction interceptor, so only transactions that will get a connection promptly are started
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnExpression("${app.db.max-concurrency:0} > 0")
+public class DatabaseBulkheadAspect {
+
+    private final DatabaseBulkhead bulkhead;
+
+    @Autowired
+    public DatabaseBulkheadAspect(DatabaseBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Around("within(com.insurance.app.service.impl..*) && "
+            + "(@annotation(org.springframework.transaction.annotation.Transactional) || "
+            + "@within(org.springframework.transaction.annotation.Transactional))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return bulkhead.call(joinPoint::proceed);
+    }
+}
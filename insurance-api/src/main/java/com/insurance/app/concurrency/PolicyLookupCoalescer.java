@@ -0,0 +1,90 @@
+package com.insurance.app.concurrency;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.repository.InsurancePolicyRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Policy lookups by id and by policy number, batched into IN queries
+ *
+ * A single lookup that misses the cache is queried at once. Those missing it while a lookup query is
+ * running are collected for up to app.lookup.coalesce-window and share one query, so a burst of
+ * concurrent GET /{id} or /number/{policyNumber} requests costs a few round trips instead of one
+ * each. Explicit batches (POST /batch-get) go straight to the IN queries.
+ *
+ * The cached single lookups run outside any service transaction, so the queries take a permit of
+ * the DatabaseBulkhead themselves when it is enabled.
+ */
+@Component
+public class PolicyLookupCoalescer {
+
+    private final InsurancePolicyRepository policyRepository;
+    // Null when the bulkhead is off
+    private final DatabaseBulkhead bulkhead;
+    private final BatchCoalescer<Long, InsurancePolicyDto> byId;
+    private final BatchCoalescer<String, InsurancePolicyDto> byNumber;
+    private final DistributionSummary batchSize;
+
+    @Autowired
+    public PolicyLookupCoalescer(InsurancePolicyRepository policyRepository, Optional<DatabaseBulkhead> bulkhead,
+            MeterRegistry meterRegistry, @Value("${app.lookup.coalesce-window:5ms}") Duration window,
+            @Value("${app.lookup.max-batch-size:100}") int maxBatchSize) {
+        this.policyRepository = policyRepository;
+        this.bulkhead = bulkhead.orElse(null);
+        this.byId = new BatchCoalescer<>(this::findByIds, window, maxBatchSize);
+        this.byNumber = new BatchCoalescer<>(this::findByPolicyNumbers, window, maxBatchSize);
+        this.batchSize = DistributionSummary.builder("policy.lookup.batch.size")
+                .description("Keys resolved per policy lookup query")
+                .register(meterRegistry);
+    }
+
+    public Optional<InsurancePolicyDto> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<InsurancePolicyDto> findByPolicyNumber(String policyNumber) {
+        return Optional.ofNullable(byNumber.get(policyNumber));
+    }
+
+    /**
+     * Load policies by id with one query, keyed by id, missing ids are absent
+     */
+    public Map<Long, InsurancePolicyDto> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        batchSize.record(ids.size());
+        return limited(() -> policyRepository.findDtosByIdIn(ids, Pageable.unpaged())).stream()
+                .collect(Collectors.toMap(InsurancePolicyDto::getId, Function.identity()));
+    }
+
+    /**
+     * Load policies by policy number with one query, keyed by policy number, missing numbers are absent
+     */
+    public Map<String, InsurancePolicyDto> findByPolicyNumbers(Collection<String> policyNumbers) {
+        if (policyNumbers.isEmpty()) {
+            return Map.of();
+        }
+        batchSize.record(policyNumbers.size());
+        return limited(() -> policyRepository.findDtosByPolicyNumberIn(policyNumbers)).stream()
+                .collect(Collectors.toMap(InsurancePolicyDto::getPolicyNumber, Function.identity()));
+    }
+
+    private <T> T limited(DatabaseBulkhead.Work<T, RuntimeException> query) {
+        return bulkhead != null ? bulkhead.call(query) : query.run();
+    }
+}
@@ -0,0 +1,32 @@
+package com.insurance.app.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables annotation driven caching
+ * The Caffeine cache manager is configured from the spring.cache properties like the auto-configured
+ * one, its caches stay CaffeineCaches so their metrics are still bound
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        EvictionAwareCacheManager cacheManager = new EvictionAwareCacheManager();
+        // The specification applies to caches created from here on, so it goes first
+        if (cacheProperties.getCaffeine().getSpec() != null) {
+            cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+}
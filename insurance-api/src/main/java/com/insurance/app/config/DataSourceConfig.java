@@ -0,0 +1,62 @@
+package com.insurance.app.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.insurance.app.routing.ReplicaProperties;
+import com.insurance.app.routing.ReplicaRoutingDataSource;
+import com.insurance.app.routing.ReplicaStickiness;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * JDBC connection pool used by JPA, Flyway and JdbcTemplate
+ * Spring Boot skips its own DataSource once an R2DBC ConnectionFactory exists (the reactive read API),
+ * so the Hikari pool is declared here from the usual spring.datasource and spring.datasource.hikari properties
+ *
+ * With app.datasource.replicas configured, each replica gets a pool with the same Hikari settings and
+ * read-only transactions are routed to them (ReplicaRoutingDataSource), Flyway and writes use the primary
+ */
+@Configuration
+@EnableConfigurationProperties({ DataSourceProperties.class, ReplicaProperties.class })
+public class DataSourceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicaProperties replicaProperties,
+            ReplicaStickiness stickiness, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        if (replicaProperties.getReplicas().isEmpty()) {
+            return primary;
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica replica : replicaProperties.getReplicas()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+            String prefix = primary.getPoolName() != null ? primary.getPoolName() + "-" : "";
+            pool.setPoolName(prefix + "replica-" + replicas.size());
+            pool.setReadOnly(true);
+            replicas.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, stickiness, replicaProperties.getMaxLag());
+    }
+}
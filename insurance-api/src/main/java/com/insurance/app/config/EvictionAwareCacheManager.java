@@ -0,0 +1,93 @@
+package com.insurance.app.config;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Caffeine cache manager whose caches drop fills that raced an eviction
+ *
+ * A @Cacheable miss loads the value and puts it afterwards. When the value is changed and evicted
+ * while the load runs, the load may have read the old value, and putting it would serve it until
+ * the entry expires. Each cache counts its evictions, and a put following a miss on the same
+ * thread is skipped when the count moved in between. The next lookup loads the value again.
+ */
+public class EvictionAwareCacheManager extends CaffeineCacheManager {
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new EvictionAwareCache(name, cache, isAllowNullValues());
+    }
+
+    /**
+     * Caffeine cache remembering, per thread, the eviction count seen by its last miss
+     * Any eviction or clear of the cache counts, not just of the missed key, which at worst skips a fill
+     */
+    static class EvictionAwareCache extends CaffeineCache {
+
+        private final AtomicLong evictions = new AtomicLong();
+        private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+        EvictionAwareCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            Object value = super.lookup(key);
+            if (value == null) {
+                lastMiss.set(new Miss(key, evictions.get()));
+            }
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            Miss miss = lastMiss.get();
+            if (miss == null || !Objects.equals(miss.key(), key)) {
+                super.put(key, value);
+                return;
+            }
+            lastMiss.remove();
+            if (miss.evictions() != evictions.get()) {
+                return;
+            }
+            super.put(key, value);
+            // An eviction counted after the check above may have run before this put, so drop the value again
+            if (miss.evictions() != evictions.get()) {
+                super.evict(key);
+            }
+        }
+
+        @Override
+        public void evict(Object key) {
+            evictions.incrementAndGet();
+            super.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            evictions.incrementAndGet();
+            return super.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            evictions.incrementAndGet();
+            super.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            evictions.incrementAndGet();
+            return super.invalidate();
+        }
+
+        private record Miss(Object key, long evictions) {
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.insurance.app.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on its request and the stored policies and vehicles
+ * PolicyListETagInterceptor answers repeat requests with 304 before the handler runs
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PolicyListETag {
+}
@@ -0,0 +1,42 @@
+package com.insurance.app.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.insurance.app.event.PolicyChangeCounter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for @PolicyListETag handlers
+ * Sets the weak list ETag on the response and, when If-None-Match already holds it, answers 304
+ * without calling the handler, so an unchanged page costs no query. The tag is read before the
+ * handler runs, a change committing meanwhile only makes the next request a full one.
+ */
+@Component
+public class PolicyListETagInterceptor implements HandlerInterceptor {
+
+    private final PolicyChangeCounter changeCounter;
+
+    @Autowired
+    public PolicyListETagInterceptor(PolicyChangeCounter changeCounter) {
+        this.changeCounter = changeCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(PolicyListETag.class)) {
+            return true;
+        }
+        // Let browsers keep the page but revalidate it on every use, separately per format
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(changeCounter.listETag());
+    }
+}
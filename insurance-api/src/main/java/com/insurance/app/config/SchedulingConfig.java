@@ -0,0 +1,12 @@
+package com.insurance.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs such as the policy expiry sweep
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
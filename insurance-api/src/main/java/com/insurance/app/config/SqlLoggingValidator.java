@@ -0,0 +1,86 @@
+package com.insurance.app.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warns at startup when SQL logging is left on in a production profile (app.production-profiles)
+ * Statement logging to stdout, pretty printing or bind parameter tracing slow every request down
+ * and can leak policy data into the logs
+ */
+@Component
+public class SqlLoggingValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlLoggingValidator.class);
+
+    static final String SQL_LOGGER = "org.hibernate.SQL";
+    static final String BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    private final Environment environment;
+    private final LoggingSystem loggingSystem;
+    private final Set<String> productionProfiles;
+
+    @Autowired
+    public SqlLoggingValidator(Environment environment, LoggingSystem loggingSystem,
+            @Value("${app.production-profiles:prod}") Set<String> productionProfiles) {
+        this.environment = environment;
+        this.loggingSystem = loggingSystem;
+        this.productionProfiles = productionProfiles;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validate() {
+        List<String> problems = problems();
+        if (!problems.isEmpty()) {
+            log.warn("SQL logging is enabled in production profile {}: {}", Arrays.toString(environment.getActiveProfiles()),
+                    String.join(", ", problems));
+        }
+    }
+
+    /**
+     * SQL logging settings that are on, empty when no production profile is active
+     */
+    List<String> problems() {
+        List<String> problems = new ArrayList<>();
+        if (Arrays.stream(environment.getActiveProfiles()).noneMatch(productionProfiles::contains)) {
+            return problems;
+        }
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            problems.add("spring.jpa.show-sql=true");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            problems.add("hibernate.format_sql=true");
+        }
+        if (enabled(SQL_LOGGER, LogLevel.DEBUG)) {
+            problems.add("logging.level." + SQL_LOGGER + "=" + level(SQL_LOGGER));
+        }
+        if (enabled(BIND_LOGGER, LogLevel.TRACE)) {
+            problems.add("logging.level." + BIND_LOGGER + "=" + level(BIND_LOGGER));
+        }
+        return problems;
+    }
+
+    private boolean enabled(String logger, LogLevel threshold) {
+        LogLevel level = level(logger);
+        return level != null && level.ordinal() <= threshold.ordinal();
+    }
+
+    private LogLevel level(String logger) {
+        LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(logger);
+        return configuration == null ? null : configuration.getEffectiveLevel();
+    }
+}
@@ -1,19 +1,38 @@
 package com.insurance.app.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.insurance.app.util.Constants;
+
 /**
  * Configuration class for web-related settings including CORS
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final PolicyListETagInterceptor policyListETagInterceptor;
+
+    @Autowired
+    public WebConfig(PolicyListETagInterceptor policyListETagInterceptor) {
+        this.policyListETagInterceptor = policyListETagInterceptor;
+    }
+
+    /**
+     * Conditional GET on policy lists
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(policyListETagInterceptor).addPathPatterns(Constants.INSURANCE_URL + "/**");
+    }
+
     /**
      * Configure CORS globally for all endpoints
      */
@@ -1,43 +1,81 @@
 package com.insurance.app.controller;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.insurance.app.config.PolicyListETag;
 import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyAnalyticsDto;
+import com.insurance.app.dto.PolicyBatchGetRequestDto;
+import com.insurance.app.dto.PolicyBatchGetResultDto;
+import com.insurance.app.dto.PolicyFilter;
+import com.insurance.app.dto.PolicyImportResultDto;
+import com.insurance.app.dto.PolicyQueryDto;
+import com.insurance.app.dto.PolicyStatisticsDto;
+import com.insurance.app.dto.PolicyWindowDto;
+import com.insurance.app.dto.VehicleImageDto;
+import com.insurance.app.service.ExpiryCalendarService;
 import com.insurance.app.service.InsurancePolicyService;
+import com.insurance.app.service.PolicyAnalyticsService;
+import com.insurance.app.service.PolicyExportService;
+import com.insurance.app.service.PolicyImportService;
+import com.insurance.app.service.PolicyStatisticsService;
 import com.insurance.app.util.Constants;
 
 /**
  * Controller for handling insurance policy related API requests
  * Provides endpoints for CRUD operations and other insurance policy operations
+ * List endpoints switch from offset paging to keyset paging when ?after= or ?limit= is given
  */
 @RestController
 @RequestMapping(Constants.INSURANCE_URL)
 public class InsurancePolicyController {
 
     private final InsurancePolicyService policyService;
+    private final PolicyStatisticsService statisticsService;
+    private final PolicyImportService importService;
+    private final PolicyExportService exportService;
+    private final ExpiryCalendarService expiryCalendarService;
+    private final PolicyAnalyticsService analyticsService;
     
     @Autowired
-    public InsurancePolicyController(InsurancePolicyService policyService) {
+    public InsurancePolicyController(InsurancePolicyService policyService, PolicyStatisticsService statisticsService,
+            PolicyImportService importService, PolicyExportService exportService,
+            ExpiryCalendarService expiryCalendarService, PolicyAnalyticsService analyticsService) {
         this.policyService = policyService;
+        this.statisticsService = statisticsService;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.expiryCalendarService = expiryCalendarService;
+        this.analyticsService = analyticsService;
     }
     
     /**
@@ -49,13 +87,119 @@ public class InsurancePolicyController {
         return new ResponseEntity<>(createdPolicy, HttpStatus.CREATED);
     }
     
+    /**
+     * Bulk import policies from a CSV (header row required) or NDJSON request body
+     * The body is streamed, valid rows are imported and the rest are reported per row
+     */
+    @PostMapping(value = "/import", consumes = { Constants.MEDIA_TYPE_CSV, Constants.MEDIA_TYPE_NDJSON })
+    public ResponseEntity<PolicyImportResultDto> importPolicies(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream content) {
+        
+        PolicyImportResultDto result = importService.importPolicies(content, contentType);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Stream every policy matching the optional filters as NDJSON or CSV, without paging or counting
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPolicies(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String provider,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryTo,
+            @RequestParam(defaultValue = Constants.EXPORT_FORMAT_NDJSON) String format) {
+        
+        PolicyFilter filter = PolicyFilter.builder()
+                .status(status).provider(provider).expiryFrom(expiryFrom).expiryTo(expiryTo).build();
+        exportService.validate(filter, format);
+        
+        boolean csv = Constants.EXPORT_FORMAT_CSV.equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> exportService.exportPolicies(filter, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? Constants.MEDIA_TYPE_CSV : Constants.MEDIA_TYPE_NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"policies." + format.toLowerCase() + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Get dashboard statistics in a single call
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<PolicyStatisticsDto> getStatistics(
+            @RequestParam(defaultValue = Constants.DEFAULT_EXPIRING_WITHIN_DAYS) int expiringWithinDays) {
+        
+        PolicyStatisticsDto statistics = statisticsService.getStatistics(expiringWithinDays);
+        return ResponseEntity.ok(statistics);
+    }
+    
+    /**
+     * Get sum, average, min, max and percentiles of policy amounts grouped by the given fields
+     * e.g. ?groupBy=provider,vehicleMake&measures=premiumAmount&percentiles=50,95, all measures when none are given
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<PolicyAnalyticsDto> getAnalytics(
+            @RequestParam(defaultValue = "") List<String> groupBy,
+            @RequestParam(defaultValue = "") List<String> measures,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = Constants.DEFAULT_ANALYTICS_PERCENTILES) List<Double> percentiles) {
+        
+        PolicyAnalyticsDto analytics = analyticsService.aggregate(groupBy, measures, status, percentiles);
+        return ResponseEntity.ok(analytics);
+    }
+    
     /**
      * Get a policy by id
+     * Served from the policy cache with a strong ETag, If-None-Match revalidation returns 304
      */
     @GetMapping("/{id}")
     public ResponseEntity<InsurancePolicyDto> getPolicyById(@PathVariable Long id) {
         InsurancePolicyDto policy = policyService.getPolicyById(id);
-        return ResponseEntity.ok(policy);
+        return ResponseEntity.ok()
+                .eTag(eTag(policy))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(policy);
+    }
+    
+    /**
+     * Stream the vehicle image of a policy
+     * Range and If-None-Match requests are handled by Spring for Resource bodies
+     * nosniff keeps browsers from reinterpreting the bytes as anything but the declared image type
+     */
+    @GetMapping("/{id}/image")
+    public ResponseEntity<Resource> getVehicleImage(@PathVariable Long id) {
+        VehicleImageDto image = policyService.getVehicleImage(id);
+        return ResponseEntity.ok()
+                .contentType(image.getMediaType())
+                .header("X-Content-Type-Options", "nosniff")
+                .eTag(image.getHash())
+                .cacheControl(CacheControl.noCache())
+                .body(image.getContent());
+    }
+    
+    /**
+     * Replace the vehicle image of a policy with the raw request body
+     */
+    @PutMapping("/{id}/image")
+    public ResponseEntity<Void> updateVehicleImage(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream content) {
+        
+        policyService.updateVehicleImage(id, content, contentType);
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Get up to Constants.MAX_BATCH_GET_KEYS policies by ids and policy numbers in one call
+     * Results follow the request order, keys that do not exist are returned with found=false
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<PolicyBatchGetResultDto> batchGetPolicies(@RequestBody PolicyBatchGetRequestDto request) {
+        PolicyBatchGetResultDto result = policyService.batchGetPolicies(request);
+        return ResponseEntity.ok(result);
     }
     
     /**
@@ -64,33 +208,73 @@ public class InsurancePolicyController {
     @GetMapping("/number/{policyNumber}")
     public ResponseEntity<InsurancePolicyDto> getPolicyByNumber(@PathVariable String policyNumber) {
         InsurancePolicyDto policy = policyService.getPolicyByPolicyNumber(policyNumber);
-        return ResponseEntity.ok(policy);
+        return ResponseEntity.ok()
+                .eTag(eTag(policy))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(policy);
     }
     
     /**
      * Get all policies with pagination
      */
     @GetMapping
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getAllPolicies(
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = new PolicyFilter();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getAllPolicies(pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
     }
     
+    /**
+     * Get policies matching any combination of provider, status, vehicle, expiry, premium and text criteria
+     * e.g. ?provider=Geico&expiryFrom=2024-06-01&expiryTo=2024-06-30&minPremium=500&sortBy=vehicleMake
+     */
+    @GetMapping("/query")
+    @PolicyListETag
+    public ResponseEntity<Map<String, Object>> queryPolicies(@ModelAttribute PolicyQueryDto query) {
+        return runQuery(query);
+    }
+    
+    /**
+     * Same as GET /query with the criteria in a JSON body, for clients that build queries as documents
+     */
+    @PostMapping("/query")
+    public ResponseEntity<Map<String, Object>> queryPoliciesByBody(@RequestBody PolicyQueryDto query) {
+        return runQuery(query);
+    }
+    
     /**
      * Get policies by vehicle id with pagination
      */
     @GetMapping("/vehicle/{vehicleId}")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getPoliciesByVehicleId(
             @PathVariable Long vehicleId,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().vehicleId(vehicleId).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getPoliciesByVehicleId(vehicleId, pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
@@ -100,12 +284,21 @@ public class InsurancePolicyController {
      * Get policies by provider with pagination
      */
     @GetMapping("/provider")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getPoliciesByProvider(
             @RequestParam String provider,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().providerContains(provider).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getPoliciesByProvider(provider, pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
@@ -115,27 +308,65 @@ public class InsurancePolicyController {
      * Get policies by expiry date range with pagination
      */
     @GetMapping("/expiry-range")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getPoliciesByExpiryDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().expiryFrom(startDate).expiryTo(endDate).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getPoliciesByExpiryDateRange(startDate, endDate, pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
     }
     
+    /**
+     * Count policies by expiry date range, answered from the in-memory expiry calendar
+     */
+    @GetMapping("/expiry-range/count")
+    @PolicyListETag
+    public ResponseEntity<Map<String, Object>> countPoliciesByExpiryDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException(Constants.ERROR_INVALID_DATE_RANGE);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("startDate", startDate);
+        response.put("endDate", endDate);
+        response.put("count", expiryCalendarService.countExpiring(startDate, endDate));
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get active policies with pagination
      */
     @GetMapping("/active")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getActivePolicies(
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().status(Constants.POLICY_STATUS_ACTIVE).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getActivePolicies(pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
@@ -145,11 +376,20 @@ public class InsurancePolicyController {
      * Get expired policies with pagination
      */
     @GetMapping("/expired")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getExpiredPolicies(
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().status(Constants.POLICY_STATUS_EXPIRED).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getExpiredPolicies(pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
@@ -159,12 +399,21 @@ public class InsurancePolicyController {
      * Get policies by vehicle details with pagination
      */
     @GetMapping("/search")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getPoliciesByVehicleDetails(
             @RequestParam String searchTerm,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().searchTerm(searchTerm).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getPoliciesByVehicleDetails(searchTerm, pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
@@ -174,13 +423,22 @@ public class InsurancePolicyController {
      * Get policies by premium amount range with pagination
      */
     @GetMapping("/premium-range")
+    @PolicyListETag
     public ResponseEntity<Map<String, Object>> getPoliciesByPremiumRange(
             @RequestParam BigDecimal minAmount,
             @RequestParam BigDecimal maxAmount,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after != null || limit != null) {
+            PolicyFilter filter = PolicyFilter.builder().minPremium(minAmount).maxPremium(maxAmount).build();
+            return createWindowResponse(policyService.scrollPolicies(
+                    filter, after, limit != null ? limit : pageSize, sortBy, sortDir));
+        }
         
         Page<InsurancePolicyDto> policies = policyService.getPoliciesByPremiumRange(minAmount, maxAmount, pageNo, pageSize, sortBy, sortDir);
         return createPageResponse(policies);
@@ -188,28 +446,92 @@ public class InsurancePolicyController {
     
     /**
      * Update an existing policy
+     * Rejected with 412 when If-Match or the version in the body no longer matches the stored policy
      */
     @PutMapping("/{id}")
     public ResponseEntity<InsurancePolicyDto> updatePolicy(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody InsurancePolicyDto policyDto) {
         
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            policyDto.setVersion(expectedVersion);
+        }
         InsurancePolicyDto updatedPolicy = policyService.updatePolicy(id, policyDto);
-        return ResponseEntity.ok(updatedPolicy);
+        return ResponseEntity.ok().eTag(eTag(updatedPolicy)).body(updatedPolicy);
     }
     
     /**
      * Delete a policy by id
+     * Rejected with 412 when If-Match no longer matches the stored policy
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, String>> deletePolicy(@PathVariable Long id) {
-        policyService.deletePolicy(id);
+    public ResponseEntity<Map<String, String>> deletePolicy(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        
+        policyService.deletePolicy(id, expectedVersion(id, ifMatch));
         
         Map<String, String> response = new HashMap<>();
         response.put("message", "Insurance policy deleted successfully with id: " + id);
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Strong ETag of a policy, its version plus a hash of the DTO, which also covers the embedded vehicle details
+     */
+    private static String eTag(InsurancePolicyDto policy) {
+        return "\"" + policy.getVersion() + "-" + Integer.toHexString(policy.hashCode()) + "\"";
+    }
+    
+    /**
+     * Version the client expects to change, from an If-Match header of current policy ETags
+     * Null when there is no header or it is *, throws when none of the tags is current
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        InsurancePolicyDto current = policyService.getPolicyById(id);
+        String currentETag = eTag(current);
+        for (String tag : ifMatch.split(",")) {
+            if (tag.trim().equals(currentETag)) {
+                return current.getVersion();
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, Constants.ERROR_STALE_POLICY + id);
+    }
+    
+    /**
+     * Create a keyset paginated response from a window of policies
+     */
+    private ResponseEntity<Map<String, Object>> createWindowResponse(PolicyWindowDto window) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("policies", window.getPolicies());
+        response.put("nextCursor", window.getNextCursor());
+        response.put("hasNext", window.isHasNext());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Run a composed query, as a keyset window when after or limit is given and as an offset page otherwise
+     */
+    private ResponseEntity<Map<String, Object>> runQuery(PolicyQueryDto query) {
+        int pageSize = query.getPageSize() != null ? query.getPageSize() : Integer.parseInt(Constants.DEFAULT_PAGE_SIZE);
+        String sortBy = query.getSortBy() != null ? query.getSortBy() : Constants.DEFAULT_SORT_BY;
+        String sortDir = query.getSortDir() != null ? query.getSortDir() : Constants.DEFAULT_SORT_DIRECTION;
+        
+        if (query.getAfter() != null || query.getLimit() != null) {
+            return createWindowResponse(policyService.scrollPolicies(
+                    query.toFilter(), query.getAfter(), query.getLimit() != null ? query.getLimit() : pageSize, sortBy, sortDir));
+        }
+        
+        int pageNo = query.getPageNo() != null ? query.getPageNo() : Integer.parseInt(Constants.DEFAULT_PAGE_NUMBER);
+        return createPageResponse(policyService.queryPolicies(query.toFilter(), pageNo, pageSize, sortBy, sortDir));
+    }
+    
     /**
      * Create a paginated response from a page of policies
      */
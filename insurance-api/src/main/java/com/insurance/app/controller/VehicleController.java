@@ -0,0 +1,153 @@
+package com.insurance.app.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.insurance.app.dto.FleetVehicleDto;
+import com.insurance.app.dto.VehicleDto;
+import com.insurance.app.service.VehicleService;
+import com.insurance.app.util.Constants;
+
+/**
+ * Controller for handling vehicle related API requests
+ * Provides CRUD endpoints, owner, VIN and registration lookups and the fleet summary
+ */
+@RestController
+@RequestMapping(Constants.VEHICLE_URL)
+public class VehicleController {
+
+    private final VehicleService vehicleService;
+    
+    @Autowired
+    public VehicleController(VehicleService vehicleService) {
+        this.vehicleService = vehicleService;
+    }
+    
+    /**
+     * Create a new vehicle
+     */
+    @PostMapping
+    public ResponseEntity<VehicleDto> createVehicle(@RequestBody VehicleDto vehicleDto) {
+        VehicleDto createdVehicle = vehicleService.createVehicle(vehicleDto);
+        return new ResponseEntity<>(createdVehicle, HttpStatus.CREATED);
+    }
+    
+    /**
+     * Get all vehicles with pagination
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getAllVehicles(
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+        
+        Page<VehicleDto> vehicles = vehicleService.getAllVehicles(pageNo, pageSize, sortBy, sortDir);
+        return createPageResponse("vehicles", vehicles);
+    }
+    
+    /**
+     * Get the vehicles of an owner with pagination, firstName narrows the last name match
+     */
+    @GetMapping("/owner")
+    public ResponseEntity<Map<String, Object>> getVehiclesByOwner(
+            @RequestParam String lastName,
+            @RequestParam(required = false) String firstName,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+        
+        Page<VehicleDto> vehicles = vehicleService.getVehiclesByOwner(lastName, firstName, pageNo, pageSize, sortBy, sortDir);
+        return createPageResponse("vehicles", vehicles);
+    }
+    
+    /**
+     * Get vehicles with their current active policy, optionally of one owner last name
+     * Served from the fleet cache, which is cleared on any vehicle or policy change
+     */
+    @GetMapping("/fleet")
+    public ResponseEntity<Map<String, Object>> getFleet(
+            @RequestParam(required = false) String ownerLastName,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int pageNo,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int pageSize,
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = Constants.DEFAULT_SORT_DIRECTION) String sortDir) {
+        
+        Page<FleetVehicleDto> fleet = vehicleService.getFleet(ownerLastName, pageNo, pageSize, sortBy, sortDir);
+        return createPageResponse("vehicles", fleet);
+    }
+    
+    /**
+     * Get a vehicle by VIN
+     */
+    @GetMapping("/vin/{vin}")
+    public ResponseEntity<VehicleDto> getVehicleByVin(@PathVariable String vin) {
+        VehicleDto vehicle = vehicleService.getVehicleByVin(vin);
+        return ResponseEntity.ok(vehicle);
+    }
+    
+    /**
+     * Get the vehicles registered under a registration number
+     */
+    @GetMapping("/registration/{registrationNumber}")
+    public ResponseEntity<List<VehicleDto>> getVehiclesByRegistrationNumber(@PathVariable String registrationNumber) {
+        List<VehicleDto> vehicles = vehicleService.getVehiclesByRegistrationNumber(registrationNumber);
+        return ResponseEntity.ok(vehicles);
+    }
+    
+    /**
+     * Get a vehicle by id
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<VehicleDto> getVehicleById(@PathVariable Long id) {
+        VehicleDto vehicle = vehicleService.getVehicleById(id);
+        return ResponseEntity.ok(vehicle);
+    }
+    
+    /**
+     * Update an existing vehicle
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<VehicleDto> updateVehicle(@PathVariable Long id, @RequestBody VehicleDto vehicleDto) {
+        VehicleDto updatedVehicle = vehicleService.updateVehicle(id, vehicleDto);
+        return ResponseEntity.ok(updatedVehicle);
+    }
+    
+    /**
+     * Delete a vehicle that no policy references
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteVehicle(@PathVariable Long id) {
+        vehicleService.deleteVehicle(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Create a paginated response from a page of vehicles
+     */
+    private ResponseEntity<Map<String, Object>> createPageResponse(String key, Page<?> page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(key, page.getContent());
+        response.put("currentPage", page.getNumber());
+        response.put("totalItems", page.getTotalElements());
+        response.put("totalPages", page.getTotalPages());
+        
+        return ResponseEntity.ok(response);
+    }
+}
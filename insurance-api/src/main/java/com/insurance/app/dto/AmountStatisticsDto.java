@@ -0,0 +1,27 @@
+package com.insurance.app.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics of one amount within an analytics group
+ * count is the number of policies with the amount set, the other values are null when it is 0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmountStatisticsDto {
+
+    private long count;
+    private BigDecimal sum;
+    private BigDecimal average;
+    private BigDecimal min;
+    private BigDecimal max;
+    private Map<String, BigDecimal> percentiles;
+}
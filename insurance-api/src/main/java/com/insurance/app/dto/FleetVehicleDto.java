@@ -0,0 +1,34 @@
+package com.insurance.app.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the fleet summary, a vehicle with its current active policy
+ * The policy fields are null when the vehicle has no active policy
+ * Field order is the constructor used by the JPQL "SELECT new" fleet query
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetVehicleDto {
+
+    private Long vehicleId;
+    private String make;
+    private String model;
+    private Integer year;
+    private String vin;
+    private String registrationNumber;
+    private String ownerFirstName;
+    private String ownerLastName;
+    private Long activePolicyId;
+    private String activePolicyNumber;
+    private String activePolicyProvider;
+    private String activePolicyCoverageType;
+    private LocalDate activePolicyEndDate;
+}
@@ -3,6 +3,9 @@ package com.insurance.app.dto;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.insurance.app.util.Constants;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,5 +38,52 @@ public class InsurancePolicyDto {
     private BigDecimal collisionCoverageAmount;
     private String status;
     private String notes;
-    private String vehicleImage; // Base64 encoded image
-} 
\ No newline at end of file
+    
+    // Optimistic lock version, sent back on update so edits of a stale copy are rejected
+    private Long version;
+    
+    // Base64 encoded image (optionally a data URL), accepted on create but never returned
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String vehicleImage;
+    
+    // Link to GET /api/insurance/{id}/image, null when the policy has no image
+    private String vehicleImageUrl;
+    
+    /**
+     * Projection constructor used by JPQL "SELECT new" list queries
+     * Takes the stored image hash and turns it into the image URL
+     */
+    public InsurancePolicyDto(Long id, String policyNumber, String provider, Long vehicleId,
+            String vehicleRegistration, String vehicleMake, String vehicleModel,
+            LocalDate startDate, LocalDate endDate, BigDecimal premiumAmount, String coverageType,
+            BigDecimal deductibleAmount, BigDecimal liabilityCoverageAmount,
+            BigDecimal comprehensiveCoverageAmount, BigDecimal collisionCoverageAmount,
+            String status, String notes, Long version, String vehicleImageHash) {
+        this.id = id;
+        this.policyNumber = policyNumber;
+        this.provider = provider;
+        this.vehicleId = vehicleId;
+        this.vehicleRegistration = vehicleRegistration;
+        this.vehicleMake = vehicleMake;
+        this.vehicleModel = vehicleModel;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.premiumAmount = premiumAmount;
+        this.coverageType = coverageType;
+        this.deductibleAmount = deductibleAmount;
+        this.liabilityCoverageAmount = liabilityCoverageAmount;
+        this.comprehensiveCoverageAmount = comprehensiveCoverageAmount;
+        this.collisionCoverageAmount = collisionCoverageAmount;
+        this.status = status;
+        this.notes = notes;
+        this.version = version;
+        this.vehicleImageUrl = imageUrl(id, vehicleImageHash);
+    }
+    
+    /**
+     * Build the image URL for a policy, null when no image is stored
+     */
+    public static String imageUrl(Long policyId, String vehicleImageHash) {
+        return vehicleImageHash != null ? Constants.INSURANCE_URL + "/" + policyId + "/image" : null;
+    }
+}
\ No newline at end of file
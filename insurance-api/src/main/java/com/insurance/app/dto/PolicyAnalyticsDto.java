@@ -0,0 +1,25 @@
+package com.insurance.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a group-by aggregate over policy amounts
+ * Served from the analytics snapshot taken at snapshotAt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyAnalyticsDto {
+
+    private LocalDateTime snapshotAt;
+    private long policies;
+    private List<String> groupBy;
+    private List<PolicyAnalyticsGroupDto> groups;
+}
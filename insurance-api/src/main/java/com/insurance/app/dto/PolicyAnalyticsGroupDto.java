@@ -0,0 +1,22 @@
+package com.insurance.app.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One group of an analytics result, key maps each group by field to its value
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyAnalyticsGroupDto {
+
+    private Map<String, Object> key;
+    private long policies;
+    private Map<String, AmountStatisticsDto> measures;
+}
@@ -0,0 +1,22 @@
+package com.insurance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one requested key of a batch lookup
+ * Exactly one of id and policyNumber is set, echoing the key as requested, policy is null when not found
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyBatchGetEntryDto {
+
+    private Long id;
+    private String policyNumber;
+    private boolean found;
+    private InsurancePolicyDto policy;
+}
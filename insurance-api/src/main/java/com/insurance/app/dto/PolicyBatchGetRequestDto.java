@@ -0,0 +1,21 @@
+package com.insurance.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body of a batch policy lookup, either list may be omitted
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyBatchGetRequestDto {
+
+    private List<Long> ids;
+    private List<String> policyNumbers;
+}
@@ -0,0 +1,23 @@
+package com.insurance.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the result of a batch policy lookup
+ * One entry per requested key, requested ids first and then policy numbers, each in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyBatchGetResultDto {
+
+    private int found;
+    private int notFound;
+    private List<PolicyBatchGetEntryDto> results;
+}
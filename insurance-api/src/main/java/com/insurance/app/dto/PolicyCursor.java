@@ -0,0 +1,59 @@
+package com.insurance.app.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+import lombok.Value;
+
+/**
+ * Position of the last row returned by a keyset paginated listing
+ * Encoded as an opaque URL-safe string so clients never depend on its layout
+ */
+@Value
+public class PolicyCursor {
+
+    private static final int VERSION = 1;
+
+    String sortBy;
+    String sortDir;
+    String sortValue;
+    long id;
+
+    /**
+     * Encode this cursor for use in ?after=
+     */
+    public String encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION);
+            out.writeUTF(sortBy);
+            out.writeUTF(sortDir);
+            out.writeUTF(sortValue);
+            out.writeLong(id);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode a cursor previously produced by encode()
+     */
+    public static PolicyCursor decode(String cursor) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)));
+            if (in.readByte() != VERSION) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            return new PolicyCursor(in.readUTF(), in.readUTF(), in.readUTF(), in.readLong());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor", e);
+        }
+    }
+}
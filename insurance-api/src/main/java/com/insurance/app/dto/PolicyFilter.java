@@ -0,0 +1,38 @@
+package com.insurance.app.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filter criteria for policy list queries
+ * Null fields are ignored, all non-null fields must match
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyFilter {
+
+    private Long vehicleId;
+    private String provider;
+    private String providerContains;
+    private LocalDate expiryFrom;
+    private LocalDate expiryTo;
+    private LocalDate endDateAfter;
+    private LocalDate endDateBefore;
+    private String status;
+    private String searchTerm;
+    private BigDecimal minPremium;
+    private BigDecimal maxPremium;
+    
+    /**
+     * Restricts results to these policies, filled in from the search index
+     */
+    private List<Long> policyIds;
+}
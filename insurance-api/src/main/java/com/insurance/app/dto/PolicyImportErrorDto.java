@@ -0,0 +1,21 @@
+package com.insurance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single rejected import row
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyImportErrorDto {
+
+    // 1-based data row, the CSV header is not counted
+    private long row;
+    private String policyNumber;
+    private String message;
+}
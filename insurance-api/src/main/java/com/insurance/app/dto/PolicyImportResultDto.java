@@ -0,0 +1,26 @@
+package com.insurance.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of a bulk policy import
+ * Rows are imported independently, a failed row never rolls back the others
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyImportResultDto {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+
+    // First failures only, capped at Constants.MAX_IMPORT_ERRORS
+    private List<PolicyImportErrorDto> errors;
+}
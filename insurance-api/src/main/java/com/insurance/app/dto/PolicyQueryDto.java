@@ -0,0 +1,59 @@
+package com.insurance.app.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Composable policy query, bound from query parameters on GET /query and from the body on POST /query
+ * Null criteria are ignored, all others must match. Paging defaults to the list endpoint defaults,
+ * after or limit switch to keyset paging like the list endpoints.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyQueryDto {
+
+    private String provider;
+    private String providerContains;
+    private String status;
+    private Long vehicleId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiryFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiryTo;
+    private BigDecimal minPremium;
+    private BigDecimal maxPremium;
+    private String searchTerm;
+    
+    private Integer pageNo;
+    private Integer pageSize;
+    private String sortBy;
+    private String sortDir;
+    private String after;
+    private Integer limit;
+    
+    /**
+     * The filter criteria of this query
+     */
+    public PolicyFilter toFilter() {
+        return PolicyFilter.builder()
+                .provider(provider)
+                .providerContains(providerContains)
+                .status(status)
+                .vehicleId(vehicleId)
+                .expiryFrom(expiryFrom)
+                .expiryTo(expiryTo)
+                .minPremium(minPremium)
+                .maxPremium(maxPremium)
+                .searchTerm(searchTerm)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.insurance.app.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for dashboard statistics
+ * All counts are served from the in-memory statistics cache
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyStatisticsDto {
+
+    private long total;
+    private long active;
+    private long expired;
+    private long expiringSoon;
+    private int expiringWithinDays;
+    private LocalDate asOf;
+    private Map<String, Long> byProvider;
+    private Map<String, Long> byCoverageType;
+}
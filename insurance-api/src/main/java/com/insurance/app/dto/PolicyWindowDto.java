@@ -0,0 +1,23 @@
+package com.insurance.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One window of a keyset paginated policy listing
+ * nextCursor is passed back as ?after= to fetch the following window
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyWindowDto {
+
+    private List<InsurancePolicyDto> policies;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,37 @@
+package com.insurance.app.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for Vehicle
+ * Vehicle and owner details, id and timestamps are assigned by the server
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleDto {
+
+    private Long id;
+    private String make;
+    private String model;
+    private Integer year;
+    private String vin;
+    private String registrationNumber;
+    private String color;
+    private String ownerFirstName;
+    private String ownerLastName;
+    private String ownerEmail;
+    private String ownerPhone;
+    private String ownerAddress;
+    private String ownerLicenseNumber;
+    private LocalDate ownerDateOfBirth;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,47 @@
+package com.insurance.app.dto;
+
+import java.util.Optional;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import lombok.Value;
+
+/**
+ * Vehicle image content together with the metadata needed to serve it
+ */
+@Value
+public class VehicleImageDto {
+
+    String hash;
+    String contentType;
+    Resource content;
+
+    /**
+     * Media type the image is served with, anything stored that is not an accepted image type goes out as
+     * application/octet-stream
+     */
+    public MediaType getMediaType() {
+        return imageMediaType(contentType).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * Parse a client supplied image content type, empty unless it is a concrete image/* type
+     * SVG is refused too, it can carry scripts that a browser would run on the API origin
+     */
+    public static Optional<MediaType> imageMediaType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if ("image".equals(type.getType()) && !type.isWildcardSubtype() && !type.getSubtype().contains("svg")) {
+                return Optional.of(new MediaType(type.getType(), type.getSubtype()));
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Malformed, refused below
+        }
+        return Optional.empty();
+    }
+}
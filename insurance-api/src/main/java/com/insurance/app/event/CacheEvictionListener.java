@@ -0,0 +1,60 @@
+package com.insurance.app.event;
+
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.app.util.Constants;
+
+/**
+ * Evicts cached policies and vehicles once a change has committed
+ * A read racing the write can still load the old value and put it back after this listener ran.
+ * The caches of EvictionAwareCacheManager drop such puts, and every entry expires after the
+ * spring.cache.caffeine.spec time to live in any case.
+ */
+@Component
+public class CacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Drop the by-id and by-number entries of the changed policy
+     */
+    @TransactionalEventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        Cache byId = cache(Constants.POLICY_CACHE);
+        Cache byNumber = cache(Constants.POLICY_BY_NUMBER_CACHE);
+        for (PolicySnapshot snapshot : new PolicySnapshot[] { event.getBefore(), event.getAfter() }) {
+            if (snapshot != null) {
+                byId.evict(snapshot.getId());
+                byNumber.evict(snapshot.getPolicyNumber());
+            }
+        }
+        // Fleet pages show each vehicle's active policy, any policy change can move them
+        cache(Constants.FLEET_CACHE).clear();
+    }
+
+    /**
+     * Drop the vehicle and every cached policy and fleet page, since both embed vehicle details
+     */
+    @TransactionalEventListener
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        cache(Constants.VEHICLE_CACHE).evict(event.getVehicleId());
+        cache(Constants.POLICY_CACHE).clear();
+        cache(Constants.POLICY_BY_NUMBER_CACHE).clear();
+        cache(Constants.FLEET_CACHE).clear();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+}
@@ -0,0 +1,39 @@
+package com.insurance.app.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts committed policy and vehicle changes, the basis of the weak ETags on policy lists
+ * Any change moves every list ETag, so a list revalidates with 304 until something is written.
+ * The counter starts from zero on each start, the start time in the tag keeps tags from
+ * different runs apart. Like the other in-memory read models it only sees this instance's writes.
+ */
+@Component
+public class PolicyChangeCounter {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Weak ETag of every policy list at the current change count
+     */
+    public String listETag() {
+        return "W/\"" + epoch + "-" + changes.get() + "\"";
+    }
+
+    @TransactionalEventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Listed policies embed vehicle registration, make and model
+     */
+    @TransactionalEventListener
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        changes.incrementAndGet();
+    }
+}
@@ -0,0 +1,45 @@
+package com.insurance.app.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the policy service whenever a policy is created, updated or deleted
+ * Listeners should use @TransactionalEventListener so they only see committed changes
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PolicyChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType type;
+
+    /**
+     * State before the change, null for CREATED
+     */
+    private final PolicySnapshot before;
+
+    /**
+     * State after the change, null for DELETED
+     */
+    private final PolicySnapshot after;
+
+    public static PolicyChangedEvent created(PolicySnapshot after) {
+        return new PolicyChangedEvent(ChangeType.CREATED, null, after);
+    }
+
+    public static PolicyChangedEvent updated(PolicySnapshot before, PolicySnapshot after) {
+        return new PolicyChangedEvent(ChangeType.UPDATED, before, after);
+    }
+
+    public static PolicyChangedEvent deleted(PolicySnapshot before) {
+        return new PolicyChangedEvent(ChangeType.DELETED, before, null);
+    }
+}
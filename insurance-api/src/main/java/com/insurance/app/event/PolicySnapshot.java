@@ -0,0 +1,42 @@
+package com.insurance.app.event;
+
+import java.time.LocalDate;
+
+import com.insurance.app.model.InsurancePolicy;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable copy of the policy fields that in-memory read models depend on
+ * Taken inside the write transaction so listeners never touch a managed entity
+ */
+@Value
+@Builder(toBuilder = true)
+public class PolicySnapshot {
+
+    Long id;
+    String policyNumber;
+    String provider;
+    Long vehicleId;
+    String coverageType;
+    String status;
+    LocalDate startDate;
+    LocalDate endDate;
+
+    /**
+     * Capture the current state of a policy
+     */
+    public static PolicySnapshot of(InsurancePolicy policy) {
+        return PolicySnapshot.builder()
+                .id(policy.getId())
+                .policyNumber(policy.getPolicyNumber())
+                .provider(policy.getProvider())
+                .vehicleId(policy.getVehicle().getId())
+                .coverageType(policy.getCoverageType())
+                .status(policy.getStatus())
+                .startDate(policy.getStartDate())
+                .endDate(policy.getEndDate())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.insurance.app.event;
+
+import lombok.Value;
+
+/**
+ * Published whenever a vehicle is created, updated or deleted
+ * Carries only the id, listeners reload whatever vehicle state they need after commit
+ */
+@Value
+public class VehicleChangedEvent {
+
+    Long vehicleId;
+}
@@ -0,0 +1,87 @@
+package com.insurance.app.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every service and repository call, tagged with the class and method name and the
+ * exception thrown, if any. Runs outermost, so cache hits and transaction overhead are included.
+ *
+ * Repository calls are timed on the Spring Data proxy, so derived, @Query and inherited
+ * CrudRepository methods are all covered without any per method code. Reactive repository methods
+ * only assemble a publisher and return, so they are left out rather than timed at near zero.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InvocationMetricsAspect {
+
+    public static final String SERVICE_TIMER = "service.invocations";
+    public static final String REPOSITORY_TIMER = "repository.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    // Repository interface name by proxy class, resolved once
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InvocationMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.insurance.app.service.impl.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = AopProxyUtils.ultimateTargetClass(joinPoint.getTarget()).getSimpleName();
+        return time(joinPoint, SERVICE_TIMER, "service", service);
+    }
+
+    @Around("execution(!org.reactivestreams.Publisher+ org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(),
+                type -> repositoryName(joinPoint.getTarget()));
+        return time(joinPoint, REPOSITORY_TIMER, "repository", repository);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String timerName, String classTag, String className)
+            throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag(classTag, className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * The application's repository interface implemented by the Spring Data proxy
+     */
+    private static String repositoryName(Object repository) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return repository.getClass().getSimpleName();
+    }
+}
@@ -12,25 +12,35 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Entity class representing an insurance policy for a vehicle
  * Contains details like policy number, provider, coverage details, start and end date, premium amount, etc.
+ *
+ * The vehicle is loaded lazily, repository methods whose callers read vehicle fields fetch it
+ * in the same statement through the WITH_VEHICLE entity graph
  */
 @Entity
 @Table(name = "insurance_policies")
+@NamedEntityGraph(name = InsurancePolicy.WITH_VEHICLE, attributeNodes = @NamedAttributeNode("vehicle"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class InsurancePolicy {
     
+    public static final String WITH_VEHICLE = "InsurancePolicy.withVehicle";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -41,8 +51,11 @@ public class InsurancePolicy {
     @Column(name = "provider", nullable = false)
     private String provider;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Excluded from toString, equals and hashCode so they never initialize the proxy
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Vehicle vehicle;
     
     @Column(name = "start_date", nullable = false)
@@ -75,10 +88,17 @@ public class InsurancePolicy {
     @Column(name = "notes")
     private String notes;
     
-    // Vehicle Image at time of policy creation
-    @Lob
-    @Column(name = "vehicle_image", columnDefinition = "LONGTEXT")
-    private String vehicleImage;
+    // Incremented on every update, a stale update or delete fails instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    // Vehicle Image at time of policy creation, stored in the image store by content hash
+    @Column(name = "vehicle_image_hash", length = 64)
+    private String vehicleImageHash;
+    
+    @Column(name = "vehicle_image_content_type", length = 100)
+    private String vehicleImageContentType;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
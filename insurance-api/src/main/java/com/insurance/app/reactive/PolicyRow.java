@@ -0,0 +1,46 @@
+package com.insurance.app.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+
+/**
+ * Read model of a policy joined with its vehicle, as returned by the R2DBC queries
+ * Components map to snake_case columns, the vehicle ones come from the vehicles join
+ */
+@Table("insurance_policies")
+public record PolicyRow(
+        @Id Long id,
+        String policyNumber,
+        String provider,
+        Long vehicleId,
+        String vehicleRegistration,
+        String vehicleMake,
+        String vehicleModel,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal premiumAmount,
+        String coverageType,
+        BigDecimal deductibleAmount,
+        BigDecimal liabilityCoverageAmount,
+        BigDecimal comprehensiveCoverageAmount,
+        BigDecimal collisionCoverageAmount,
+        String status,
+        String notes,
+        Long version,
+        String vehicleImageHash) {
+
+    /**
+     * The same DTO the MVC API returns for this policy
+     */
+    public InsurancePolicyDto toDto() {
+        return new InsurancePolicyDto(id, policyNumber, provider, vehicleId, vehicleRegistration, vehicleMake,
+                vehicleModel, startDate, endDate, premiumAmount, coverageType, deductibleAmount,
+                liabilityCoverageAmount, comprehensiveCoverageAmount, collisionCoverageAmount, status, notes,
+                version, vehicleImageHash);
+    }
+}
@@ -0,0 +1,131 @@
+package com.insurance.app.reactive;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.service.PolicySearchService;
+import com.insurance.app.util.Constants;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Handler functions of the reactive policy read API
+ * Lists are streamed as they are read, as NDJSON when the client accepts it and as a JSON array otherwise,
+ * and an optional ?limit= caps how many policies are returned
+ */
+@Component
+public class ReactivePolicyHandler {
+
+    private final ReactivePolicyRepository policyRepository;
+    private final PolicySearchService policySearchService;
+
+    @Autowired
+    public ReactivePolicyHandler(ReactivePolicyRepository policyRepository, PolicySearchService policySearchService) {
+        this.policyRepository = policyRepository;
+        this.policySearchService = policySearchService;
+    }
+
+    /**
+     * Get a policy by id
+     */
+    public Mono<ServerResponse> getPolicyById(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        return single(policyRepository.findById(id));
+    }
+
+    /**
+     * Get a policy by policy number
+     */
+    public Mono<ServerResponse> getPolicyByNumber(ServerRequest request) {
+        return single(policyRepository.findByPolicyNumber(request.pathVariable("policyNumber")));
+    }
+
+    /**
+     * Stream active policies
+     */
+    public Mono<ServerResponse> getActivePolicies(ServerRequest request) {
+        return stream(request, policyRepository.findByStatus(Constants.POLICY_STATUS_ACTIVE));
+    }
+
+    /**
+     * Stream expired policies
+     */
+    public Mono<ServerResponse> getExpiredPolicies(ServerRequest request) {
+        return stream(request, policyRepository.findByStatus(Constants.POLICY_STATUS_EXPIRED));
+    }
+
+    /**
+     * Stream policies by expiry date range
+     */
+    public Mono<ServerResponse> getPoliciesByExpiryDateRange(ServerRequest request) {
+        LocalDate startDate = LocalDate.parse(requiredParam(request, "startDate"));
+        LocalDate endDate = LocalDate.parse(requiredParam(request, "endDate"));
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException(Constants.ERROR_INVALID_DATE_RANGE);
+        }
+        return stream(request, policyRepository.findByEndDateBetween(startDate, endDate));
+    }
+
+    /**
+     * Stream policies matching a free text search, best match first
+     * Matches come from the in-memory index and are loaded from the database a batch at a time,
+     * so the next batch is only read once the client has taken the previous one
+     */
+    public Mono<ServerResponse> getPoliciesByVehicleDetails(ServerRequest request) {
+        String searchTerm = requiredParam(request, "searchTerm");
+        Flux<PolicyRow> policies = Mono.fromCallable(() -> policySearchService.search(searchTerm))
+                .subscribeOn(Schedulers.parallel())
+                .flatMapIterable(Function.identity())
+                .buffer(Constants.REACTIVE_SEARCH_BATCH_SIZE)
+                .concatMap(this::findInOrder);
+        return stream(request, policies);
+    }
+
+    /**
+     * Load a batch of policies and return them in the order of the given ids
+     */
+    private Flux<PolicyRow> findInOrder(List<Long> ids) {
+        return policyRepository.findByIdIn(ids)
+                .collect(Collectors.toMap(PolicyRow::id, Function.identity()))
+                .flatMapIterable(byId -> ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    private Mono<ServerResponse> single(Mono<PolicyRow> policy) {
+        return policy.map(PolicyRow::toDto)
+                .flatMap(dto -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(dto))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Mono<ServerResponse> stream(ServerRequest request, Flux<PolicyRow> policies) {
+        Flux<InsurancePolicyDto> body = policies.map(PolicyRow::toDto);
+        String limit = request.queryParam("limit").orElse(null);
+        if (limit != null) {
+            long max = Long.parseLong(limit);
+            if (max < 1) {
+                throw new RuntimeException(Constants.ERROR_INVALID_STREAM_LIMIT);
+            }
+            body = body.take(max);
+        }
+
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(body, InsurancePolicyDto.class);
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_MISSING_PARAMETER + name));
+    }
+}
@@ -0,0 +1,58 @@
+package com.insurance.app.reactive;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC repository for the reactive read API, mirroring the read queries of InsurancePolicyRepository
+ * Read only, list queries stream in id order and rows are pulled from the driver as the client consumes them
+ */
+public interface ReactivePolicyRepository extends Repository<PolicyRow, Long> {
+
+    /**
+     * Select clause shared by every query, the columns of PolicyRow
+     */
+    String ROW_SELECT = "SELECT p.id, p.policy_number, p.provider, p.vehicle_id, " +
+            "v.vehicle_registration, v.vehicle_make, v.vehicle_model, " +
+            "p.start_date, p.end_date, p.premium_amount, p.coverage_type, p.deductible_amount, " +
+            "p.liability_coverage_amount, p.comprehensive_coverage_amount, p.collision_coverage_amount, " +
+            "p.status, p.notes, p.version, p.vehicle_image_hash " +
+            "FROM insurance_policies p JOIN vehicles v ON v.id = p.vehicle_id";
+
+    /**
+     * Find policy by id
+     */
+    @Query(ROW_SELECT + " WHERE p.id = :id")
+    Mono<PolicyRow> findById(@Param("id") Long id);
+
+    /**
+     * Find policy by policy number
+     */
+    @Query(ROW_SELECT + " WHERE p.policy_number = :policyNumber")
+    Mono<PolicyRow> findByPolicyNumber(@Param("policyNumber") String policyNumber);
+
+    /**
+     * Stream all policies with status
+     */
+    @Query(ROW_SELECT + " WHERE p.status = :status ORDER BY p.id")
+    Flux<PolicyRow> findByStatus(@Param("status") String status);
+
+    /**
+     * Stream all policies with end date between the given dates
+     */
+    @Query(ROW_SELECT + " WHERE p.end_date BETWEEN :startDate AND :endDate ORDER BY p.id")
+    Flux<PolicyRow> findByEndDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find policies by id, used to hydrate matches from the search index
+     */
+    @Query(ROW_SELECT + " WHERE p.id IN (:ids)")
+    Flux<PolicyRow> findByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,124 @@
+package com.insurance.app.reactive;
+
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.app.util.Constants;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive policy read API, served by Netty on its own port next to the Tomcat MVC API
+ * Uses the same paths and JSON mapping as the MVC API, so partners only switch the port
+ *
+ * The application stays a servlet application, this server is started and stopped with the
+ * context as a lifecycle bean. Disabled with app.reactive.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveServerConfig {
+
+    /**
+     * Routes of the reactive read API
+     */
+    @Bean
+    public RouterFunction<ServerResponse> reactivePolicyRoutes(ReactivePolicyHandler handler) {
+        return RouterFunctions.route()
+                .path(Constants.INSURANCE_URL, builder -> builder
+                        .GET("/active", handler::getActivePolicies)
+                        .GET("/expired", handler::getExpiredPolicies)
+                        .GET("/expiry-range", handler::getPoliciesByExpiryDateRange)
+                        .GET("/search", handler::getPoliciesByVehicleDetails)
+                        .GET("/number/{policyNumber}", handler::getPolicyByNumber)
+                        .GET("/{id}", handler::getPolicyById))
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(RuntimeException.class, e -> {
+                            HttpStatus status = e instanceof IllegalArgumentException || e instanceof DateTimeException
+                                    ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+                            // Same shape as Spring Boot's default error response on the MVC API
+                            Map<String, Object> body = new LinkedHashMap<>();
+                            body.put("timestamp", OffsetDateTime.now().toString());
+                            body.put("status", status.value());
+                            body.put("error", status.getReasonPhrase());
+                            body.put("message", e.getMessage());
+                            body.put("path", request.path());
+                            return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+                        }))
+                .build();
+    }
+
+    /**
+     * Netty server for the routes, JSON is written with the application's ObjectMapper and compressed like the MVC API
+     */
+    @Bean
+    public ReactiveServer reactiveServer(RouterFunction<ServerResponse> reactivePolicyRoutes, ObjectMapper objectMapper,
+            ServerProperties serverProperties, @Value("${app.reactive.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        // Same server.compression settings as the MVC API
+        factory.setCompression(serverProperties.getCompression());
+        return new ReactiveServer(factory.getWebServer(RouterFunctions.toHttpHandler(reactivePolicyRoutes, strategies)));
+    }
+
+    /**
+     * Starts the Netty server once the context is refreshed and stops it on shutdown
+     */
+    public static class ReactiveServer implements SmartLifecycle {
+
+        private final WebServer webServer;
+        private volatile boolean running;
+
+        ReactiveServer(WebServer webServer) {
+            this.webServer = webServer;
+        }
+
+        @Override
+        public void start() {
+            webServer.start();
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            webServer.stop();
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        /**
+         * Bound port, useful when app.reactive.port is 0
+         */
+        public int getPort() {
+            return webServer.getPort();
+        }
+    }
+}
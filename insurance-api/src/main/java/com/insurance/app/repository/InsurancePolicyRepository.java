@@ -2,83 +2,225 @@ package com.insurance.app.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.insurance.app.dto.InsurancePolicyDto;
 import com.insurance.app.model.InsurancePolicy;
 import com.insurance.app.model.Vehicle;
+import com.insurance.app.repository.projection.PolicyAnalyticsView;
+import com.insurance.app.repository.projection.PolicyExpiryView;
+import com.insurance.app.repository.projection.PolicySearchView;
+import com.insurance.app.repository.projection.PolicyStatisticsView;
+import com.insurance.app.repository.projection.VehicleImageView;
+import com.insurance.app.util.Constants;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Insurance Policy entity
  * Provides methods to interact with the insurance_policies table in the database
  */
 @Repository
-public interface InsurancePolicyRepository extends JpaRepository<InsurancePolicy, Long> {
+public interface InsurancePolicyRepository extends JpaRepository<InsurancePolicy, Long>, InsurancePolicyRepositoryCustom {
+    
+    /**
+     * Select clause shared by the read-only list queries
+     * Fetches only the columns InsurancePolicyDto needs, skipping entity hydration and dirty checking
+     */
+    String DTO_SELECT = "SELECT new com.insurance.app.dto.InsurancePolicyDto(" +
+            "p.id, p.policyNumber, p.provider, v.id, v.registrationNumber, v.make, v.model, " +
+            "p.startDate, p.endDate, p.premiumAmount, p.coverageType, p.deductibleAmount, " +
+            "p.liabilityCoverageAmount, p.comprehensiveCoverageAmount, p.collisionCoverageAmount, " +
+            "p.status, p.notes, p.version, p.vehicleImageHash) " +
+            "FROM InsurancePolicy p JOIN p.vehicle v";
     
     /**
-     * Find policy by policy number
+     * Whether any policy references the vehicle
      */
+    boolean existsByVehicleId(Long vehicleId);
+    
+    /**
+     * Find a policy by id together with its vehicle, for changes that return the policy's DTO
+     */
+    @EntityGraph(InsurancePolicy.WITH_VEHICLE)
+    Optional<InsurancePolicy> findWithVehicleById(Long id);
+    
+    /**
+     * Find policy by policy number, together with its vehicle
+     */
+    @EntityGraph(InsurancePolicy.WITH_VEHICLE)
     Optional<InsurancePolicy> findByPolicyNumber(String policyNumber);
     
     /**
-     * Find all policies for a specific vehicle
+     * Keep only the policy numbers that are already taken
+     */
+    @Query("SELECT p.policyNumber FROM InsurancePolicy p WHERE p.policyNumber IN :policyNumbers")
+    List<String> findExistingPolicyNumbers(@Param("policyNumbers") Collection<String> policyNumbers);
+    
+    /**
+     * Find all policies for a specific vehicle, the vehicle is the one given
      */
     List<InsurancePolicy> findByVehicle(Vehicle vehicle);
     
     /**
-     * Find all policies for a specific vehicle with pagination
+     * Find all policies with pagination, projected straight into DTOs
      */
-    Page<InsurancePolicy> findByVehicle(Vehicle vehicle, Pageable pageable);
+    @Query(value = DTO_SELECT,
+           countQuery = "SELECT COUNT(p) FROM InsurancePolicy p")
+    Page<InsurancePolicyDto> findAllDtos(Pageable pageable);
     
     /**
-     * Find all policies by provider
+     * Find all policies for a specific vehicle with pagination
      */
-    Page<InsurancePolicy> findByProviderContainingIgnoreCase(String provider, Pageable pageable);
+    @Query(value = DTO_SELECT + " WHERE v.id = :vehicleId",
+           countQuery = "SELECT COUNT(p) FROM InsurancePolicy p WHERE p.vehicle.id = :vehicleId")
+    Page<InsurancePolicyDto> findByVehicleId(@Param("vehicleId") Long vehicleId, Pageable pageable);
     
     /**
      * Find all policies with end date between the given dates
      */
-    Page<InsurancePolicy> findByEndDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @Query(value = DTO_SELECT + " WHERE p.endDate BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT COUNT(p) FROM InsurancePolicy p WHERE p.endDate BETWEEN :startDate AND :endDate")
+    Page<InsurancePolicyDto> findByEndDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
     
     /**
-     * Find all policies with status
+     * Find policies with end date between the given dates without counting them
+     * Used when the expiry calendar already knows the total
      */
-    Page<InsurancePolicy> findByStatus(String status, Pageable pageable);
+    @Query(DTO_SELECT + " WHERE p.endDate BETWEEN :startDate AND :endDate")
+    List<InsurancePolicyDto> findDtosByEndDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
     
     /**
-     * Find all active policies (end date after current date and status is active)
+     * Find all policies with status
      */
-    Page<InsurancePolicy> findByEndDateAfterAndStatus(LocalDate currentDate, String status, Pageable pageable);
+    @Query(value = DTO_SELECT + " WHERE p.status = :status",
+           countQuery = "SELECT COUNT(p) FROM InsurancePolicy p WHERE p.status = :status")
+    Page<InsurancePolicyDto> findByStatus(@Param("status") String status, Pageable pageable);
     
     /**
-     * Find expired policies (end date before current date)
+     * Find policies by id, used to hydrate matches from the search index
+     * Read-only so batch lookups, which run outside any service transaction, may use a read replica,
+     * the cached single lookups read from the primary (@ReadFromPrimary)
      */
-    Page<InsurancePolicy> findByEndDateBefore(LocalDate currentDate, Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(DTO_SELECT + " WHERE p.id IN :ids")
+    List<InsurancePolicyDto> findDtosByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
     
     /**
-     * Custom query to find policies by vehicle details
+     * Find policies by policy number, used by batch lookups
      */
-    @Query("SELECT DISTINCT p FROM InsurancePolicy p JOIN p.vehicle v WHERE " +
-           "LOWER(v.make) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(v.model) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(v.registrationNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<InsurancePolicy> findByVehicleDetails(
-            @Param("searchTerm") String searchTerm,
-            Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(DTO_SELECT + " WHERE p.policyNumber IN :policyNumbers")
+    List<InsurancePolicyDto> findDtosByPolicyNumberIn(@Param("policyNumbers") Collection<String> policyNumbers);
     
     /**
      * Find policies by premium amount range
      */
-    @Query("SELECT p FROM InsurancePolicy p WHERE p.premiumAmount BETWEEN :minAmount AND :maxAmount")
-    Page<InsurancePolicy> findByPremiumAmountRange(
+    @Query(value = DTO_SELECT + " WHERE p.premiumAmount BETWEEN :minAmount AND :maxAmount",
+           countQuery = "SELECT COUNT(p) FROM InsurancePolicy p WHERE p.premiumAmount BETWEEN :minAmount AND :maxAmount")
+    Page<InsurancePolicyDto> findByPremiumAmountRange(
             @Param("minAmount") BigDecimal minAmount,
             @Param("maxAmount") BigDecimal maxAmount,
             Pageable pageable);
-} 
\ No newline at end of file
+    
+    /**
+     * Lock the next batch of policies whose end date has passed, skipping rows other transactions hold
+     * The vehicles are left unloaded, the expiry sweep only needs their ids
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // A lock timeout of -2 is Hibernate's SKIP LOCKED (the deprecated LockOptions.SKIP_LOCKED)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT p FROM InsurancePolicy p WHERE p.status = :status AND p.endDate < :today ORDER BY p.id")
+    List<InsurancePolicy> findDueForExpiry(
+            @Param("status") String status,
+            @Param("today") LocalDate today,
+            Pageable pageable);
+    
+    /**
+     * Set the status of the given policies in one statement
+     */
+    @Modifying
+    @Query("UPDATE InsurancePolicy p SET p.status = :status, p.updatedAt = :updatedAt, " +
+           "p.version = p.version + 1 WHERE p.id IN :ids")
+    int updateStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") String status,
+            @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Load the searchable columns of every policy to build the search index
+     */
+    @Query("SELECT p.id AS id, p.policyNumber AS policyNumber, p.provider AS provider, " +
+           "p.vehicle.id AS vehicleId FROM InsurancePolicy p")
+    List<PolicySearchView> findAllSearchViews();
+    
+    /**
+     * Stream the end date of every policy in calendar order to build the expiry calendar
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT p.id AS id, p.endDate AS endDate FROM InsurancePolicy p ORDER BY p.endDate, p.id")
+    Stream<PolicyExpiryView> streamExpiryViews();
+    
+    /**
+     * Stream the counted columns of every policy to build the statistics cache
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT p.id AS id, p.status AS status, p.provider AS provider, p.coverageType AS coverageType, " +
+           "p.endDate AS endDate FROM InsurancePolicy p")
+    Stream<PolicyStatisticsView> streamStatisticsViews();
+    
+    /**
+     * Stream the grouping columns and amounts in cents of every policy to build the analytics snapshot
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT p.provider AS provider, p.coverageType AS coverageType, v.make AS vehicleMake, " +
+           "v.year AS vehicleYear, p.status AS status, " +
+           "CAST(p.premiumAmount * 100 AS Long) AS premiumCents, " +
+           "CAST(p.deductibleAmount * 100 AS Long) AS deductibleCents, " +
+           "CAST(p.liabilityCoverageAmount * 100 AS Long) AS liabilityCoverageCents, " +
+           "CAST(p.comprehensiveCoverageAmount * 100 AS Long) AS comprehensiveCoverageCents, " +
+           "CAST(p.collisionCoverageAmount * 100 AS Long) AS collisionCoverageCents " +
+           "FROM InsurancePolicy p JOIN p.vehicle v")
+    Stream<PolicyAnalyticsView> streamAnalyticsViews();
+    
+    /**
+     * Find the image reference of a policy without loading the policy itself
+     */
+    @Query("SELECT p.vehicleImageHash AS hash, p.vehicleImageContentType AS contentType " +
+           "FROM InsurancePolicy p WHERE p.id = :id")
+    Optional<VehicleImageView> findVehicleImageById(@Param("id") Long id);
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.insurance.app.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyFilter;
+
+/**
+ * Custom query fragment for InsurancePolicyRepository
+ * Holds queries that are built dynamically with the Criteria API
+ */
+public interface InsurancePolicyRepositoryCustom {
+
+    /**
+     * Seek query: return up to limit policies matching the filter that sort strictly after
+     * (afterValue, afterId) on (sortField, id), without running a count query
+     * A null afterId starts from the beginning
+     */
+    List<InsurancePolicyDto> findDtosAfter(PolicyFilter filter, PolicySortField sortField, Sort.Direction direction,
+            Object afterValue, Long afterId, int limit);
+
+    /**
+     * One page of policies matching the filter, ordered by (sortField, id)
+     * The filter and ordering go into a single query, the count runs only when the page is full
+     */
+    Page<InsurancePolicyDto> findDtos(PolicyFilter filter, PolicySortField sortField, Sort.Direction direction,
+            Pageable pageable);
+
+    /**
+     * Sort keys of the given policies that match the filter, in no particular order
+     * The ids are bound Constants.MAX_IN_LIST_SIZE at a time, so any number of search matches stays
+     * within the driver's placeholder limit, the filter's own policyIds are ignored
+     */
+    List<PolicySortKey> findSortKeys(PolicyFilter filter, PolicySortField sortField, List<Long> ids);
+
+    /**
+     * Stream every policy matching the filter in id order over a forward-only cursor
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    Stream<InsurancePolicyDto> streamDtos(PolicyFilter filter, int fetchSize);
+}
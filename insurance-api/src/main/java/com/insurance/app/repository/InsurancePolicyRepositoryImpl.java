@@ -0,0 +1,250 @@
+package com.insurance.app.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyFilter;
+import com.insurance.app.model.InsurancePolicy;
+import com.insurance.app.model.Vehicle;
+import com.insurance.app.util.Constants;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria API implementation of InsurancePolicyRepositoryCustom
+ */
+public class InsurancePolicyRepositoryImpl implements InsurancePolicyRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Seek query over (sortField, id)
+     */
+    @Override
+    public List<InsurancePolicyDto> findDtosAfter(PolicyFilter filter, PolicySortField sortField,
+            Sort.Direction direction, Object afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InsurancePolicyDto> query = cb.createQuery(InsurancePolicyDto.class);
+        Root<InsurancePolicy> policy = query.from(InsurancePolicy.class);
+        Join<InsurancePolicy, Vehicle> vehicle = policy.join("vehicle");
+
+        List<Predicate> predicates = filterPredicates(filter, cb, policy, vehicle);
+
+        Path<Long> id = policy.get("id");
+        Path<Comparable<Object>> sortKey = sortField == PolicySortField.ID ? null : resolve(sortField, policy, vehicle);
+        boolean ascending = direction.isAscending();
+
+        if (afterId != null) {
+            Predicate idAfter = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+            if (sortKey == null) {
+                predicates.add(idAfter);
+            } else {
+                @SuppressWarnings("unchecked")
+                Comparable<Object> value = (Comparable<Object>) afterValue;
+                Predicate keyAfter = ascending ? cb.greaterThan(sortKey, value) : cb.lessThan(sortKey, value);
+                predicates.add(cb.or(keyAfter, cb.and(cb.equal(sortKey, value), idAfter)));
+            }
+        }
+
+        query.select(dtoProjection(cb, policy, vehicle))
+                .where(predicates.toArray(new Predicate[0]));
+        if (sortKey == null) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(sortKey) : cb.desc(sortKey), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Offset page over (sortField, id), counted with the same predicates
+     */
+    @Override
+    public Page<InsurancePolicyDto> findDtos(PolicyFilter filter, PolicySortField sortField,
+            Sort.Direction direction, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InsurancePolicyDto> query = cb.createQuery(InsurancePolicyDto.class);
+        Root<InsurancePolicy> policy = query.from(InsurancePolicy.class);
+        Join<InsurancePolicy, Vehicle> vehicle = policy.join("vehicle");
+
+        Path<Long> id = policy.get("id");
+        boolean ascending = direction.isAscending();
+        List<Order> order = new ArrayList<>();
+        if (sortField != PolicySortField.ID) {
+            Path<Object> sortKey = resolve(sortField, policy, vehicle);
+            order.add(ascending ? cb.asc(sortKey) : cb.desc(sortKey));
+        }
+        order.add(ascending ? cb.asc(id) : cb.desc(id));
+
+        query.select(dtoProjection(cb, policy, vehicle))
+                .where(filterPredicates(filter, cb, policy, vehicle).toArray(new Predicate[0]))
+                .orderBy(order);
+        List<InsurancePolicyDto> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    /**
+     * One query per chunk of ids, selecting only the id and the sort column
+     */
+    @Override
+    public List<PolicySortKey> findSortKeys(PolicyFilter filter, PolicySortField sortField, List<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<PolicySortKey> keys = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += Constants.MAX_IN_LIST_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + Constants.MAX_IN_LIST_SIZE, ids.size()));
+            CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+            Root<InsurancePolicy> policy = query.from(InsurancePolicy.class);
+            Join<InsurancePolicy, Vehicle> vehicle = policy.join("vehicle");
+
+            PolicyFilter chunkFilter = filter.toBuilder().policyIds(chunk).build();
+            query.multiselect(policy.get("id"), resolve(sortField, policy, vehicle))
+                    .where(filterPredicates(chunkFilter, cb, policy, vehicle).toArray(new Predicate[0]));
+            for (Object[] row : entityManager.createQuery(query).getResultList()) {
+                keys.add(new PolicySortKey((Long) row[0], row[1]));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Projected straight into DTOs, so nothing accumulates in the persistence context
+     */
+    @Override
+    public Stream<InsurancePolicyDto> streamDtos(PolicyFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InsurancePolicyDto> query = cb.createQuery(InsurancePolicyDto.class);
+        Root<InsurancePolicy> policy = query.from(InsurancePolicy.class);
+        Join<InsurancePolicy, Vehicle> vehicle = policy.join("vehicle");
+
+        query.select(dtoProjection(cb, policy, vehicle))
+                .where(filterPredicates(filter, cb, policy, vehicle).toArray(new Predicate[0]))
+                .orderBy(cb.asc(policy.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long count(PolicyFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<InsurancePolicy> policy = query.from(InsurancePolicy.class);
+        Join<InsurancePolicy, Vehicle> vehicle = policy.join("vehicle");
+
+        query.select(cb.count(policy))
+                .where(filterPredicates(filter, cb, policy, vehicle).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Translate a filter into predicates, skipping null criteria
+     */
+    static List<Predicate> filterPredicates(PolicyFilter filter, CriteriaBuilder cb,
+            Root<InsurancePolicy> policy, Join<InsurancePolicy, Vehicle> vehicle) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDate> endDate = policy.get("endDate");
+        Path<BigDecimal> premium = policy.get("premiumAmount");
+
+        if (filter.getVehicleId() != null) {
+            predicates.add(cb.equal(vehicle.get("id"), filter.getVehicleId()));
+        }
+        if (filter.getProvider() != null) {
+            predicates.add(cb.equal(policy.get("provider"), filter.getProvider()));
+        }
+        if (filter.getProviderContains() != null) {
+            predicates.add(containsIgnoreCase(cb, policy.get("provider"), filter.getProviderContains()));
+        }
+        if (filter.getExpiryFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(endDate, filter.getExpiryFrom()));
+        }
+        if (filter.getExpiryTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(endDate, filter.getExpiryTo()));
+        }
+        if (filter.getEndDateAfter() != null) {
+            predicates.add(cb.greaterThan(endDate, filter.getEndDateAfter()));
+        }
+        if (filter.getEndDateBefore() != null) {
+            predicates.add(cb.lessThan(endDate, filter.getEndDateBefore()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(policy.get("status"), filter.getStatus()));
+        }
+        if (filter.getSearchTerm() != null) {
+            predicates.add(cb.or(
+                    containsIgnoreCase(cb, vehicle.get("make"), filter.getSearchTerm()),
+                    containsIgnoreCase(cb, vehicle.get("model"), filter.getSearchTerm()),
+                    containsIgnoreCase(cb, vehicle.get("registrationNumber"), filter.getSearchTerm())));
+        }
+        if (filter.getMinPremium() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(premium, filter.getMinPremium()));
+        }
+        if (filter.getMaxPremium() != null) {
+            predicates.add(cb.lessThanOrEqualTo(premium, filter.getMaxPremium()));
+        }
+        if (filter.getPolicyIds() != null) {
+            predicates.add(filter.getPolicyIds().isEmpty()
+                    ? cb.disjunction()
+                    : policy.get("id").in(filter.getPolicyIds()));
+        }
+        return predicates;
+    }
+
+    /**
+     * Same column list as InsurancePolicyRepository.DTO_SELECT
+     */
+    static CompoundSelection<InsurancePolicyDto> dtoProjection(CriteriaBuilder cb,
+            Root<InsurancePolicy> policy, Join<InsurancePolicy, Vehicle> vehicle) {
+        return cb.construct(InsurancePolicyDto.class,
+                policy.get("id"), policy.get("policyNumber"), policy.get("provider"),
+                vehicle.get("id"), vehicle.get("registrationNumber"), vehicle.get("make"), vehicle.get("model"),
+                policy.get("startDate"), policy.get("endDate"), policy.get("premiumAmount"),
+                policy.get("coverageType"), policy.get("deductibleAmount"),
+                policy.get("liabilityCoverageAmount"), policy.get("comprehensiveCoverageAmount"),
+                policy.get("collisionCoverageAmount"), policy.get("status"), policy.get("notes"),
+                policy.get("version"), policy.get("vehicleImageHash"));
+    }
+
+    /**
+     * Resolve a sort field path against the policy root or the joined vehicle
+     */
+    static <T> Path<T> resolve(PolicySortField field, Root<InsurancePolicy> policy, Join<InsurancePolicy, Vehicle> vehicle) {
+        String path = field.getPath();
+        if (path.startsWith("vehicle.")) {
+            return vehicle.get(path.substring("vehicle.".length()));
+        }
+        return policy.get(path);
+    }
+
+    private static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> column, String term) {
+        return cb.like(cb.lower(column), "%" + term.toLowerCase() + "%");
+    }
+}
@@ -0,0 +1,83 @@
+package com.insurance.app.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.util.Constants;
+
+/**
+ * Fields policy listings can be sorted and keyset paginated on, any other sortBy is rejected
+ * Each maps the API sort name to its entity path and to the DTO value used to build the next cursor
+ * Only non-null columns are listed, since a seek predicate cannot step over nulls
+ */
+public enum PolicySortField {
+
+    ID("id", "id", Long.class, InsurancePolicyDto::getId),
+    POLICY_NUMBER("policyNumber", "policyNumber", String.class, InsurancePolicyDto::getPolicyNumber),
+    PROVIDER("provider", "provider", String.class, InsurancePolicyDto::getProvider),
+    START_DATE("startDate", "startDate", LocalDate.class, InsurancePolicyDto::getStartDate),
+    END_DATE("endDate", "endDate", LocalDate.class, InsurancePolicyDto::getEndDate),
+    PREMIUM_AMOUNT("premiumAmount", "premiumAmount", BigDecimal.class, InsurancePolicyDto::getPremiumAmount),
+    COVERAGE_TYPE("coverageType", "coverageType", String.class, InsurancePolicyDto::getCoverageType),
+    STATUS("status", "status", String.class, InsurancePolicyDto::getStatus),
+    VEHICLE_MAKE("vehicleMake", "vehicle.make", String.class, InsurancePolicyDto::getVehicleMake),
+    VEHICLE_MODEL("vehicleModel", "vehicle.model", String.class, InsurancePolicyDto::getVehicleModel),
+    VEHICLE_REGISTRATION("vehicleRegistration", "vehicle.registrationNumber", String.class, InsurancePolicyDto::getVehicleRegistration);
+
+    private final String apiName;
+    private final String path;
+    private final Class<?> type;
+    private final Function<InsurancePolicyDto, Object> extractor;
+
+    PolicySortField(String apiName, String path, Class<?> type, Function<InsurancePolicyDto, Object> extractor) {
+        this.apiName = apiName;
+        this.path = path;
+        this.type = type;
+        this.extractor = extractor;
+    }
+
+    public String getApiName() {
+        return apiName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Read this field's value from a policy DTO
+     */
+    public Object valueOf(InsurancePolicyDto policy) {
+        return extractor.apply(policy);
+    }
+
+    /**
+     * Parse a value previously written by String.valueOf(valueOf(policy)) back into the column type
+     */
+    public Object parse(String value) {
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        }
+        return value;
+    }
+
+    /**
+     * Resolve a sort field from its API name
+     */
+    public static PolicySortField fromApiName(String apiName) {
+        for (PolicySortField field : values()) {
+            if (field.apiName.equals(apiName)) {
+                return field;
+            }
+        }
+        throw new RuntimeException(Constants.ERROR_UNSUPPORTED_SORT_FIELD + apiName);
+    }
+}
@@ -0,0 +1,29 @@
+package com.insurance.app.repository;
+
+import java.util.Comparator;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Id of a policy together with its value of the listing's sort field
+ * Used to sort and page search matches in memory, then load only the policies of one page
+ */
+public record PolicySortKey(long id, Object value) {
+
+    /**
+     * (value, id) order in the given direction, strings compare case insensitively like the database collation
+     */
+    public static Comparator<PolicySortKey> order(Sort.Direction direction) {
+        Comparator<PolicySortKey> order = PolicySortKey::compareValues;
+        order = order.thenComparingLong(PolicySortKey::id);
+        return direction.isAscending() ? order : order.reversed();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(PolicySortKey left, PolicySortKey right) {
+        if (left.value instanceof String text) {
+            return String.CASE_INSENSITIVE_ORDER.compare(text, (String) right.value);
+        }
+        return ((Comparable<Object>) left.value).compareTo(right.value);
+    }
+}
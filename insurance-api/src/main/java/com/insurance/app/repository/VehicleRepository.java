@@ -1,10 +1,99 @@
 package com.insurance.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.insurance.app.dto.FleetVehicleDto;
 import com.insurance.app.model.Vehicle;
+import com.insurance.app.repository.projection.VehicleSearchView;
+import com.insurance.app.util.Constants;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
-} 
\ No newline at end of file
+    
+    /**
+     * Find a vehicle by id, cached until the vehicle changes
+     * Cached instances are detached, use them for reads and as association references only
+     */
+    @Override
+    @Cacheable(cacheNames = Constants.VEHICLE_CACHE, key = "#p0", unless = "#result == null")
+    Optional<Vehicle> findById(Long id);
+    
+    String SEARCH_VIEW_SELECT = "SELECT v.id AS id, v.make AS make, v.model AS model, " +
+            "v.registrationNumber AS registrationNumber, v.vin AS vin, " +
+            "v.ownerFirstName AS ownerFirstName, v.ownerLastName AS ownerLastName FROM Vehicle v";
+    
+    /**
+     * Load the searchable columns of every vehicle to build the search index
+     */
+    @Query(SEARCH_VIEW_SELECT)
+    List<VehicleSearchView> findAllSearchViews();
+    
+    /**
+     * Keep only the ids that belong to an existing vehicle
+     */
+    @Query("SELECT v.id FROM Vehicle v WHERE v.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Load the searchable columns of one vehicle
+     */
+    @Query(SEARCH_VIEW_SELECT + " WHERE v.id = :id")
+    Optional<VehicleSearchView> findSearchViewById(@Param("id") Long id);
+    
+    /**
+     * Find a vehicle by id bypassing the cache, for changes to a managed instance
+     */
+    @Query("SELECT v FROM Vehicle v WHERE v.id = :id")
+    Optional<Vehicle> findForUpdateById(@Param("id") Long id);
+    
+    /**
+     * Find a vehicle by VIN
+     */
+    Optional<Vehicle> findByVin(String vin);
+    
+    /**
+     * Find vehicles by registration number, a plate can move between vehicles over time
+     */
+    List<Vehicle> findByRegistrationNumberOrderById(String registrationNumber);
+    
+    /**
+     * Find the vehicles of an owner by last name
+     */
+    Page<Vehicle> findByOwnerLastName(String ownerLastName, Pageable pageable);
+    
+    /**
+     * Find the vehicles of an owner by last and first name
+     */
+    Page<Vehicle> findByOwnerLastNameAndOwnerFirstName(String ownerLastName, String ownerFirstName, Pageable pageable);
+    
+    /**
+     * Fleet summary: each vehicle with its newest active policy, in one query
+     * The LEFT JOIN keeps vehicles without an active policy, the correlated MAX(id) picks at most one policy per vehicle
+     */
+    String FLEET_SELECT = "SELECT new com.insurance.app.dto.FleetVehicleDto(" +
+            "v.id, v.make, v.model, v.year, v.vin, v.registrationNumber, v.ownerFirstName, v.ownerLastName, " +
+            "p.id, p.policyNumber, p.provider, p.coverageType, p.endDate) " +
+            "FROM Vehicle v LEFT JOIN InsurancePolicy p ON p.vehicle = v AND p.id = " +
+            "(SELECT MAX(a.id) FROM InsurancePolicy a WHERE a.vehicle = v AND a.status = :status)";
+    
+    @Query(value = FLEET_SELECT,
+           countQuery = "SELECT COUNT(v) FROM Vehicle v")
+    Page<FleetVehicleDto> findFleet(@Param("status") String activeStatus, Pageable pageable);
+    
+    @Query(value = FLEET_SELECT + " WHERE v.ownerLastName = :ownerLastName",
+           countQuery = "SELECT COUNT(v) FROM Vehicle v WHERE v.ownerLastName = :ownerLastName")
+    Page<FleetVehicleDto> findFleetByOwnerLastName(
+            @Param("status") String activeStatus,
+            @Param("ownerLastName") String ownerLastName,
+            Pageable pageable);
+}
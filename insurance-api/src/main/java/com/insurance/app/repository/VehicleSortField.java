@@ -0,0 +1,50 @@
+package com.insurance.app.repository;
+
+import com.insurance.app.util.Constants;
+
+/**
+ * Fields vehicle listings can be sorted on, any other sortBy is rejected before it reaches a query or a cache key
+ * Each maps the API sort name to its path on the Vehicle entity, which the fleet query selects as v
+ */
+public enum VehicleSortField {
+
+    ID("id", "id"),
+    MAKE("make", "make"),
+    MODEL("model", "model"),
+    YEAR("year", "year"),
+    VIN("vin", "vin"),
+    REGISTRATION_NUMBER("registrationNumber", "registrationNumber"),
+    COLOR("color", "color"),
+    OWNER_FIRST_NAME("ownerFirstName", "ownerFirstName"),
+    OWNER_LAST_NAME("ownerLastName", "ownerLastName"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt");
+
+    private final String apiName;
+    private final String path;
+
+    VehicleSortField(String apiName, String path) {
+        this.apiName = apiName;
+        this.path = path;
+    }
+
+    public String getApiName() {
+        return apiName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Resolve a sort field from its API name
+     */
+    public static VehicleSortField fromApiName(String apiName) {
+        for (VehicleSortField field : values()) {
+            if (field.apiName.equals(apiName)) {
+                return field;
+            }
+        }
+        throw new RuntimeException(Constants.ERROR_UNSUPPORTED_SORT_FIELD + apiName);
+    }
+}
@@ -0,0 +1,28 @@
+package com.insurance.app.repository.projection;
+
+/**
+ * Projection for the policy columns held in the analytics snapshot
+ * Amounts are converted to whole cents by the query, so no BigDecimal is created per row
+ */
+public interface PolicyAnalyticsView {
+
+    String getProvider();
+
+    String getCoverageType();
+
+    String getVehicleMake();
+
+    Integer getVehicleYear();
+
+    String getStatus();
+
+    Long getPremiumCents();
+
+    Long getDeductibleCents();
+
+    Long getLiabilityCoverageCents();
+
+    Long getComprehensiveCoverageCents();
+
+    Long getCollisionCoverageCents();
+}
@@ -0,0 +1,13 @@
+package com.insurance.app.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for the policy columns held in the expiry calendar
+ */
+public interface PolicyExpiryView {
+
+    Long getId();
+
+    LocalDate getEndDate();
+}
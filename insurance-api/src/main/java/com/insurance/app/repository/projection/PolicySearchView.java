@@ -0,0 +1,15 @@
+package com.insurance.app.repository.projection;
+
+/**
+ * Projection for the policy columns held in the search index
+ */
+public interface PolicySearchView {
+
+    Long getId();
+
+    String getPolicyNumber();
+
+    String getProvider();
+
+    Long getVehicleId();
+}
@@ -0,0 +1,19 @@
+package com.insurance.app.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for the policy columns counted by the statistics cache
+ */
+public interface PolicyStatisticsView {
+
+    Long getId();
+
+    String getStatus();
+
+    String getProvider();
+
+    String getCoverageType();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,11 @@
+package com.insurance.app.repository.projection;
+
+/**
+ * Projection for the image reference stored on a policy row
+ */
+public interface VehicleImageView {
+
+    String getHash();
+
+    String getContentType();
+}
@@ -0,0 +1,21 @@
+package com.insurance.app.repository.projection;
+
+/**
+ * Projection for the vehicle columns held in the search index
+ */
+public interface VehicleSearchView {
+
+    Long getId();
+
+    String getMake();
+
+    String getModel();
+
+    String getRegistrationNumber();
+
+    String getVin();
+
+    String getOwnerFirstName();
+
+    String getOwnerLastName();
+}
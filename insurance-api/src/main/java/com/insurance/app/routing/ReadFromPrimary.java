@@ -0,0 +1,20 @@
+package com.insurance.app.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reads of the annotated method go to the primary even in a read-only transaction
+ *
+ * For reads whose results outlive the request, such as cache fills and in-memory models that are
+ * kept current by change events, which must not start out behind writes already committed.
+ * Only takes effect when the method runs the transaction's first statement.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReadFromPrimary {
+}
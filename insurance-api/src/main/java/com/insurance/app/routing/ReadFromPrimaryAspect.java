@@ -0,0 +1,31 @@
+package com.insurance.app.routing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the current thread for primary reads while a @ReadFromPrimary method runs
+ * Runs before the transaction interceptor, so the mark is set when the first statement picks its connection
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.insurance.app.routing.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReplicaRoutingDataSource.PRIMARY_READS.get() != null) {
+            return joinPoint.proceed();
+        }
+        ReplicaRoutingDataSource.PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.PRIMARY_READS.remove();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.insurance.app.routing;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.routing.ReplicaRoutingDataSource.ReplicaPool;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Measures how far each read replica is behind the primary, published as the db.replica.lag gauge
+ *
+ * Every app.datasource.heartbeat-interval the primary's heartbeat row is stamped with the current
+ * time and each replica's copy is read back, the replica is behind by the age of its stamp (to
+ * within one interval). The routing skips replicas lagging more than app.datasource.max-lag, and
+ * unreachable or not yet measured ones (NaN). The first measurement is taken once the context is
+ * refreshed, before the application reports ready. Does nothing when no replicas are configured.
+ */
+@Component
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final String STAMP = "UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1";
+    private static final String READ = "SELECT beat_millis FROM replication_heartbeat WHERE id = 1";
+
+    private final ReplicaRoutingDataSource routing;
+
+    @Autowired
+    public ReplicaLagMonitor(DataSource dataSource) throws SQLException {
+        this.routing = dataSource.isWrapperFor(ReplicaRoutingDataSource.class)
+                ? dataSource.unwrap(ReplicaRoutingDataSource.class) : null;
+    }
+
+    /**
+     * Lag gauges, and pool metrics for the replica pools (the primary's are bound by Spring Boot)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (routing == null) {
+            return;
+        }
+        for (ReplicaPool replica : routing.getReplicas()) {
+            Gauge.builder("db.replica.lag", replica, ReplicaPool::getLagSeconds)
+                    .description("Seconds the replica is behind the primary, NaN while unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            if (replica.getPool().getMetricsTrackerFactory() == null) {
+                replica.getPool().setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Scheduled(fixedDelayString = "${app.datasource.heartbeat-interval:PT1S}",
+            initialDelayString = "${app.datasource.heartbeat-interval:PT1S}")
+    public void measureLag() {
+        if (routing == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        new JdbcTemplate(routing.getPrimary()).update(STAMP, now);
+        for (ReplicaPool replica : routing.getReplicas()) {
+            try {
+                Long beat = new JdbcTemplate(replica.getPool()).queryForObject(READ, Long.class);
+                replica.setLagSeconds(Math.max(0, now - beat) / 1000.0);
+            } catch (DataAccessException e) {
+                replica.setLagSeconds(Double.NaN);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.app.routing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Read replicas of the primary database, bound from app.datasource.*
+ * Each replica gets its own connection pool, sized by the same spring.datasource.hikari settings as the primary
+ */
+@Data
+@ConfigurationProperties("app.datasource")
+public class ReplicaProperties {
+
+    /**
+     * Replica connections, read-only transactions are spread over them, none keeps everything on the primary
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long a client that wrote keeps reading from the primary, long enough for the replicas to catch up
+     */
+    private Duration stickinessWindow = Duration.ofSeconds(5);
+
+    /**
+     * Replicas further behind than this are skipped until they catch up
+     */
+    private Duration maxLag = Duration.ofSeconds(30);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,134 @@
+package com.insurance.app.routing;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to the primary
+ *
+ * The routing decision is made when a transaction runs its first statement rather than when it
+ * begins (LazyConnectionDataSourceProxy), by then the transaction's read-only flag is set.
+ * Read-only transactions take the next usable replica in turn, and fall back to the primary when
+ * the client is pinned for read-your-writes (ReplicaStickiness), the reads are marked @ReadFromPrimary,
+ * or every replica lags too far behind or has not been measured yet.
+ * Transactions joining an outer read-write transaction stay on its primary connection.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    // Set on threads running a @ReadFromPrimary method, see ReadFromPrimaryAspect
+    static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<ReplicaPool> replicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+            ReplicaStickiness stickiness, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(ReplicaPool::new).toList();
+        Router router = new Router(this.replicas, stickiness, maxLag.toMillis() / 1000.0);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica.getPool()));
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getPool().close());
+        primary.close();
+    }
+
+    /**
+     * Connection pool of one replica and how far behind the primary it was last measured
+     */
+    public static class ReplicaPool {
+
+        private final HikariDataSource pool;
+        // Seconds, NaN until the first measurement and while the replica is unreachable
+        private volatile double lagSeconds = Double.NaN;
+
+        ReplicaPool(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        public String getName() {
+            return pool.getPoolName();
+        }
+
+        public HikariDataSource getPool() {
+            return pool;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public void setLagSeconds(double lagSeconds) {
+            this.lagSeconds = lagSeconds;
+        }
+
+        boolean isUsable(double maxLagSeconds) {
+            // NaN compares false, so an unmeasured or unreachable replica is skipped
+            return lagSeconds <= maxLagSeconds;
+        }
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+
+        private final List<ReplicaPool> replicas;
+        private final ReplicaStickiness stickiness;
+        private final double maxLagSeconds;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Router(List<ReplicaPool> replicas, ReplicaStickiness stickiness, double maxLagSeconds) {
+            this.replicas = replicas;
+            this.stickiness = stickiness;
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    stickiness.pin();
+                }
+                return PRIMARY;
+            }
+            if (PRIMARY_READS.get() != null || stickiness.isPinned()) {
+                return PRIMARY;
+            }
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int n = 0; n < replicas.size(); n++) {
+                ReplicaPool replica = replicas.get((start + n) % replicas.size());
+                if (replica.isUsable(maxLagSeconds)) {
+                    return replica.getName();
+                }
+            }
+            return PRIMARY;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.insurance.app.routing;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.insurance.app.util.Constants;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes for HTTP clients while reads go to replicas
+ *
+ * A request that writes to the primary sets a cookie holding the end of the stickiness window, and
+ * requests carrying an unexpired cookie (and the rest of the writing request itself) read from the
+ * primary. Work outside an HTTP request, such as scheduled jobs, is never pinned.
+ */
+@Component
+public class ReplicaStickiness {
+
+    private static final String PINNED_ATTRIBUTE = ReplicaStickiness.class.getName() + ".pinned";
+
+    private final Duration window;
+
+    @Autowired
+    public ReplicaStickiness(ReplicaProperties properties) {
+        this.window = properties.getStickinessWindow();
+    }
+
+    /**
+     * Whether the current request has to read from the primary
+     */
+    public boolean isPinned() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return false;
+        }
+        if (attributes.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Cookie[] cookies = attributes.getRequest().getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (Constants.REPLICA_STICKINESS_COOKIE.equals(cookie.getName()) && notExpired(cookie.getValue())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pin the current request and its client to the primary for the stickiness window
+     * The cookie is only set once per request, and is lost if the response is already committed
+     */
+    public void pin() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null || attributes.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null) {
+            HttpServletRequest request = attributes.getRequest();
+            Cookie cookie = new Cookie(Constants.REPLICA_STICKINESS_COOKIE,
+                    Long.toString(System.currentTimeMillis() + window.toMillis()));
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge((int) Math.max(1, Math.ceilDiv(window.toMillis(), 1000)));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+    }
+
+    private static boolean notExpired(String value) {
+        try {
+            return Long.parseLong(value) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ? attributes : null;
+    }
+}
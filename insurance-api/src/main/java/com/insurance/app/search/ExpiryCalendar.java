@@ -0,0 +1,227 @@
+package com.insurance.app.search;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * In-memory index of policy ids by end date
+ *
+ * Distinct end dates are kept as a sorted array of epoch days, each with a sorted long[] of the
+ * policy ids ending that day, and a Fenwick tree over the per-day counts. Counting the policies of
+ * any date window is two binary searches plus two prefix sums, O(log days), and a page of ids is
+ * found by rank without walking the days before it. A policy costs 8 bytes of id plus array growth
+ * headroom, a day around 40 bytes; days whose last policy is removed stay as empty slots.
+ *
+ * Not thread safe, callers guard it with a lock
+ */
+public class ExpiryCalendar {
+
+    private static final long[] NO_IDS = new long[0];
+    private static final int MIN_DAY_CAPACITY = 4;
+
+    private int[] days = new int[64];
+    private long[][] ids = new long[64][];
+    private int[] sizes = new int[64];
+
+    // Fenwick tree over sizes, 1-based, tree[i] covers sizes[i - lowbit(i), i)
+    private long[] tree = new long[65];
+
+    private int dayCount;
+    private long size;
+
+    /**
+     * Add a policy, adding a policy already present on that day does nothing
+     */
+    public void add(LocalDate endDate, long policyId) {
+        int epochDay = (int) endDate.toEpochDay();
+        int day = Arrays.binarySearch(days, 0, dayCount, epochDay);
+        if (day < 0) {
+            day = insertDay(-day - 1, epochDay);
+        }
+
+        long[] dayIds = ids[day];
+        int count = sizes[day];
+        int at = count > 0 && dayIds[count - 1] < policyId ? -count - 1 : Arrays.binarySearch(dayIds, 0, count, policyId);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+
+        if (count == dayIds.length) {
+            dayIds = Arrays.copyOf(dayIds, Math.max(MIN_DAY_CAPACITY, count + (count >> 1)));
+            ids[day] = dayIds;
+        }
+        System.arraycopy(dayIds, at, dayIds, at + 1, count - at);
+        dayIds[at] = policyId;
+        sizes[day] = count + 1;
+        size++;
+        update(day, 1);
+    }
+
+    /**
+     * Remove a policy from the given end date, returns false when it was not there
+     */
+    public boolean remove(LocalDate endDate, long policyId) {
+        int day = Arrays.binarySearch(days, 0, dayCount, (int) endDate.toEpochDay());
+        if (day < 0) {
+            return false;
+        }
+        long[] dayIds = ids[day];
+        int count = sizes[day];
+        int at = Arrays.binarySearch(dayIds, 0, count, policyId);
+        if (at < 0) {
+            return false;
+        }
+
+        System.arraycopy(dayIds, at + 1, dayIds, at, count - at - 1);
+        count--;
+        sizes[day] = count;
+        if (count == 0) {
+            ids[day] = NO_IDS;
+        } else if (count < dayIds.length >> 2 && dayIds.length > MIN_DAY_CAPACITY) {
+            ids[day] = Arrays.copyOf(dayIds, count << 1);
+        }
+        size--;
+        update(day, -1);
+        return true;
+    }
+
+    /**
+     * Number of policies ending between from and to, both inclusive
+     */
+    public long count(LocalDate from, LocalDate to) {
+        return prefix(dayIndex(to.toEpochDay() + 1)) - prefix(dayIndex(from.toEpochDay()));
+    }
+
+    /**
+     * Up to limit policy ids ending between from and to, both inclusive, skipping the first offset
+     * Ordered by end date then id, or the reverse when descending
+     */
+    public long[] ids(LocalDate from, LocalDate to, long offset, int limit, boolean ascending) {
+        long start = prefix(dayIndex(from.toEpochDay()));
+        long end = prefix(dayIndex(to.toEpochDay() + 1));
+        long available = end - start - offset;
+        if (available <= 0 || limit <= 0) {
+            return NO_IDS;
+        }
+
+        long[] result = new long[(int) Math.min(limit, available)];
+        long rank = ascending ? start + offset : end - 1 - offset;
+        int day = dayOfRank(rank);
+        int position = (int) (rank - prefix(day));
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[day][position];
+            if (ascending) {
+                position++;
+                while (i + 1 < result.length && position == sizes[day]) {
+                    day++;
+                    position = 0;
+                }
+            } else {
+                position--;
+                while (i + 1 < result.length && position < 0) {
+                    day--;
+                    position = sizes[day] - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Total number of policies
+     */
+    public long size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(ids, 0, dayCount, null);
+        Arrays.fill(sizes, 0, dayCount, 0);
+        Arrays.fill(tree, 0);
+        dayCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Insert an empty day at the given position
+     * Appending a later day extends the tree in O(log days), inserting before existing days rebuilds it
+     */
+    private int insertDay(int at, int epochDay) {
+        if (dayCount == days.length) {
+            int capacity = dayCount << 1;
+            days = Arrays.copyOf(days, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            tree = Arrays.copyOf(tree, capacity + 1);
+        }
+        System.arraycopy(days, at, days, at + 1, dayCount - at);
+        System.arraycopy(ids, at, ids, at + 1, dayCount - at);
+        System.arraycopy(sizes, at, sizes, at + 1, dayCount - at);
+        days[at] = epochDay;
+        ids[at] = NO_IDS;
+        sizes[at] = 0;
+        dayCount++;
+
+        if (at == dayCount - 1) {
+            // The new node covers (at + 1 - lowbit, at + 1], all earlier days plus the new empty one
+            int node = at + 1;
+            tree[node] = prefix(at) - prefix(node - Integer.lowestOneBit(node));
+        } else {
+            rebuildTree();
+        }
+        return at;
+    }
+
+    private void rebuildTree() {
+        Arrays.fill(tree, 0);
+        for (int node = 1; node <= dayCount; node++) {
+            tree[node] += sizes[node - 1];
+            int parent = node + Integer.lowestOneBit(node);
+            if (parent <= dayCount) {
+                tree[parent] += tree[node];
+            }
+        }
+    }
+
+    private void update(int day, long delta) {
+        for (int node = day + 1; node <= dayCount; node += Integer.lowestOneBit(node)) {
+            tree[node] += delta;
+        }
+    }
+
+    /**
+     * Number of policies in the first count days
+     */
+    private long prefix(int count) {
+        long sum = 0;
+        for (int node = count; node > 0; node -= Integer.lowestOneBit(node)) {
+            sum += tree[node];
+        }
+        return sum;
+    }
+
+    /**
+     * Index of the day holding the policy at the given rank, which must be below size
+     */
+    private int dayOfRank(long rank) {
+        int day = 0;
+        long remaining = rank;
+        for (int step = Integer.highestOneBit(Math.max(dayCount, 1)); step > 0; step >>= 1) {
+            int node = day + step;
+            if (node <= dayCount && tree[node] <= remaining) {
+                day = node;
+                remaining -= tree[node];
+            }
+        }
+        return day;
+    }
+
+    /**
+     * Position of the first day on or after the epoch day
+     */
+    private int dayIndex(long epochDay) {
+        int at = Arrays.binarySearch(days, 0, dayCount, (int) Math.min(Math.max(epochDay, Integer.MIN_VALUE), Integer.MAX_VALUE));
+        return at >= 0 ? at : -at - 1;
+    }
+}
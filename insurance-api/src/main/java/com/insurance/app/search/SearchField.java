@@ -0,0 +1,37 @@
+package com.insurance.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Text fields held in the policy search index
+ * The weight scales how much a match in the field counts towards the relevance score
+ */
+@Getter
+@AllArgsConstructor
+public enum SearchField {
+
+    POLICY_NUMBER(3),
+    REGISTRATION(3),
+    VIN(3),
+    MAKE(2),
+    MODEL(2),
+    PROVIDER(1),
+    OWNER_NAME(1);
+
+    private final int weight;
+
+    /**
+     * Bit of this field in a field mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Mask covering every field
+     */
+    public static int allFields() {
+        return (1 << values().length) - 1;
+    }
+}
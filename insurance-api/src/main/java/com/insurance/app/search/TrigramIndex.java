@@ -0,0 +1,286 @@
+package com.insurance.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory trigram index over the SearchField values of each policy
+ *
+ * Every document gets an internal number in insertion order, so posting lists stay sorted and
+ * a query only intersects the lists of its trigrams before verifying the few surviving candidates.
+ * Replaced and removed documents are tombstoned and swept out once they outnumber the live ones.
+ *
+ * Not thread safe, callers guard it with a lock
+ */
+public class TrigramIndex {
+
+    private static final SearchField[] FIELDS = SearchField.values();
+
+    // Minimum number of tombstones before the postings are compacted
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private long[] keys = new long[64];
+    private String[][] values = new String[64][];
+    private int nextDoc;
+    private int deadDocs;
+
+    /**
+     * Add or replace a document, values are indexed by SearchField ordinal and may contain nulls
+     */
+    public void put(long key, String[] fieldValues) {
+        remove(key);
+
+        String[] normalized = new String[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            normalized[i] = fieldValues[i] == null ? null : fieldValues[i].toLowerCase(Locale.ROOT);
+        }
+
+        int doc = nextDoc++;
+        if (doc == keys.length) {
+            keys = Arrays.copyOf(keys, doc * 2);
+            values = Arrays.copyOf(values, doc * 2);
+        }
+        keys[doc] = key;
+        values[doc] = normalized;
+        live.set(doc);
+        docByKey.put(key, doc);
+        addTrigrams(doc, normalized);
+    }
+
+    /**
+     * Remove a document, unknown keys are ignored
+     */
+    public void remove(long key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return;
+        }
+        live.clear(doc);
+        values[doc] = null;
+        deadDocs++;
+        if (deadDocs > COMPACT_THRESHOLD && deadDocs > docByKey.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Lower-cased field values of a document, or null when the key is not indexed
+     */
+    public String[] get(long key) {
+        Integer doc = docByKey.get(key);
+        return doc == null ? null : values[doc].clone();
+    }
+
+    public int size() {
+        return docByKey.size();
+    }
+
+    public void clear() {
+        docByKey.clear();
+        postings.clear();
+        live.clear();
+        keys = new long[64];
+        values = new String[64][];
+        nextDoc = 0;
+        deadDocs = 0;
+    }
+
+    /**
+     * Find the keys of documents where every whitespace separated term of the query is a
+     * substring of at least one field in the mask, best matches first
+     */
+    public List<Long> search(String query, int fieldMask) {
+        String[] terms = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        int[] candidates = candidates(terms);
+        if (candidates == null) {
+            // Only terms shorter than a trigram, verify every document
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                collect(hits, doc, terms, fieldMask);
+            }
+        } else {
+            for (int doc : candidates) {
+                if (live.get(doc)) {
+                    collect(hits, doc, terms, fieldMask);
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed().thenComparingLong(Hit::key));
+        List<Long> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(hit.key());
+        }
+        return result;
+    }
+
+    /**
+     * Intersect the posting lists of every trigram in the query, smallest list first
+     * Returns null when no term is long enough to have a trigram
+     */
+    private int[] candidates(String[] terms) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                Postings list = postings.get(trigram(term, i));
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings first = lists.get(0);
+        int[] result = Arrays.copyOf(first.docs, first.size);
+        int length = result.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = intersect(result, length, lists.get(i));
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    /**
+     * Keep the docs of the sorted prefix result[0, length) that also appear in the list, in place
+     */
+    private static int intersect(int[] result, int length, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < length && from < list.size; i++) {
+            int found = Arrays.binarySearch(list.docs, from, list.size, result[i]);
+            if (found >= 0) {
+                result[kept++] = result[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void collect(List<Hit> hits, int doc, String[] terms, int fieldMask) {
+        int score = score(values[doc], terms, fieldMask);
+        if (score > 0) {
+            hits.add(new Hit(keys[doc], score));
+        }
+    }
+
+    /**
+     * Sum over terms of the best weighted match, zero when any term matches no field
+     */
+    private static int score(String[] fieldValues, String[] terms, int fieldMask) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (SearchField field : FIELDS) {
+                String value = fieldValues[field.ordinal()];
+                if ((fieldMask & field.mask()) != 0 && value != null) {
+                    best = Math.max(best, match(value, term) * field.getWeight());
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Rank a substring match: whole value 4, prefix 3, start of a word 2, anywhere else 1
+     */
+    private static int match(String value, String term) {
+        int index = value.indexOf(term);
+        if (index < 0) {
+            return 0;
+        }
+        if (index == 0) {
+            return value.length() == term.length() ? 4 : 3;
+        }
+        while (index > 0) {
+            if (!Character.isLetterOrDigit(value.charAt(index - 1))) {
+                return 2;
+            }
+            index = value.indexOf(term, index + 1);
+        }
+        return 1;
+    }
+
+    private void addTrigrams(int doc, String[] fieldValues) {
+        for (String value : fieldValues) {
+            if (value == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                postings.computeIfAbsent(trigram(value, i), t -> new Postings()).add(doc);
+            }
+        }
+    }
+
+    /**
+     * Renumber the live documents and rebuild the postings without tombstones
+     */
+    private void compact() {
+        long[] liveKeys = new long[docByKey.size()];
+        String[][] liveValues = new String[docByKey.size()][];
+        int count = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            liveKeys[count] = keys[doc];
+            liveValues[count] = values[doc];
+            count++;
+        }
+
+        clear();
+        for (int i = 0; i < count; i++) {
+            put(liveKeys[i], liveValues[i]);
+        }
+    }
+
+    private static long trigram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    private record Hit(long key, int score) {
+    }
+
+    /**
+     * Growable sorted list of document numbers
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            // Docs are added in increasing order, a repeat can only be the last entry
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
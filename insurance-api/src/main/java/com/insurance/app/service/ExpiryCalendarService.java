@@ -0,0 +1,26 @@
+package com.insurance.app.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for end date window queries served from memory
+ * The calendar is loaded at startup and kept current by policy change events
+ */
+public interface ExpiryCalendarService {
+
+    /**
+     * Count policies whose end date is between the given dates, both inclusive
+     */
+    long countExpiring(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Ids of one page of policies whose end date is between the given dates, ordered by end date then id
+     */
+    List<Long> findExpiring(LocalDate startDate, LocalDate endDate, long offset, int limit, boolean ascending);
+
+    /**
+     * Rebuild the calendar from the database
+     */
+    void rebuild();
+}
@@ -0,0 +1,27 @@
+package com.insurance.app.service;
+
+import java.io.InputStream;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Service interface for binary image storage
+ * Images are addressed by the SHA-256 hash of their content, so identical uploads are stored once
+ */
+public interface ImageStorageService {
+
+    /**
+     * Store image bytes read from the stream and return their content hash
+     */
+    String store(InputStream content);
+
+    /**
+     * Store already decoded image bytes and return their content hash
+     */
+    String store(byte[] content);
+
+    /**
+     * Load the image stored under the given content hash
+     */
+    Resource load(String hash);
+}
@@ -1,11 +1,17 @@
 package com.insurance.app.service;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import org.springframework.data.domain.Page;
 
 import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyBatchGetRequestDto;
+import com.insurance.app.dto.PolicyBatchGetResultDto;
+import com.insurance.app.dto.PolicyFilter;
+import com.insurance.app.dto.PolicyWindowDto;
+import com.insurance.app.dto.VehicleImageDto;
 
 /**
  * Service interface for Insurance Policy operations
@@ -28,6 +34,11 @@ public interface InsurancePolicyService {
      */
     InsurancePolicyDto getPolicyByPolicyNumber(String policyNumber);
     
+    /**
+     * Get policies by ids and policy numbers with one query per key kind, marking keys that were not found
+     */
+    PolicyBatchGetResultDto batchGetPolicies(PolicyBatchGetRequestDto request);
+    
     /**
      * Get all policies with pagination
      */
@@ -40,6 +51,7 @@ public interface InsurancePolicyService {
     
     /**
      * Get policies by provider with pagination
+     * sortBy may be "relevance" to keep the search index ranking
      */
     Page<InsurancePolicyDto> getPoliciesByProvider(String provider, int pageNo, int pageSize, String sortBy, String sortDir);
     
@@ -59,7 +71,9 @@ public interface InsurancePolicyService {
     Page<InsurancePolicyDto> getExpiredPolicies(int pageNo, int pageSize, String sortBy, String sortDir);
     
     /**
-     * Get policies by vehicle details (make, model, registration) with pagination
+     * Get policies by vehicle details (make, model, registration, VIN), owner name, provider
+     * or policy number with pagination
+     * sortBy may be "relevance" to keep the search index ranking
      */
     Page<InsurancePolicyDto> getPoliciesByVehicleDetails(String searchTerm, int pageNo, int pageSize, String sortBy, String sortDir);
     
@@ -69,12 +83,33 @@ public interface InsurancePolicyService {
     Page<InsurancePolicyDto> getPoliciesByPremiumRange(BigDecimal minAmount, BigDecimal maxAmount, int pageNo, int pageSize, String sortBy, String sortDir);
     
     /**
-     * Update an existing policy
+     * Get one page of policies matching every non-null criterion of the filter
+     */
+    Page<InsurancePolicyDto> queryPolicies(PolicyFilter filter, int pageNo, int pageSize, String sortBy, String sortDir);
+    
+    /**
+     * Get one keyset paginated window of policies matching the filter
+     * after is the nextCursor of the previous window, or null for the first one
+     */
+    PolicyWindowDto scrollPolicies(PolicyFilter filter, String after, int limit, String sortBy, String sortDir);
+    
+    /**
+     * Update an existing policy, only if it is still at the DTO's version when one is given
      */
     InsurancePolicyDto updatePolicy(Long id, InsurancePolicyDto policyDto);
     
     /**
-     * Delete a policy by id
+     * Delete a policy by id, only if it is still at the expected version when one is given
+     */
+    void deletePolicy(Long id, Long expectedVersion);
+    
+    /**
+     * Get the vehicle image of a policy
+     */
+    VehicleImageDto getVehicleImage(Long id);
+    
+    /**
+     * Replace the vehicle image of a policy with raw image bytes
      */
-    void deletePolicy(Long id);
-} 
\ No newline at end of file
+    void updateVehicleImage(Long id, InputStream content, String contentType);
+}
\ No newline at end of file
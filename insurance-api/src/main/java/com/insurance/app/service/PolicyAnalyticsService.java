@@ -0,0 +1,23 @@
+package com.insurance.app.service;
+
+import java.util.List;
+
+import com.insurance.app.dto.PolicyAnalyticsDto;
+
+/**
+ * Service interface for premium and coverage analytics
+ * Aggregates are computed from an in-memory columnar snapshot of all policies
+ */
+public interface PolicyAnalyticsService {
+
+    /**
+     * Aggregate the measures grouped by the given fields, optionally only over policies with the given status
+     * Fields and measures use their API names, percentiles are between 0 and 100
+     */
+    PolicyAnalyticsDto aggregate(List<String> groupBy, List<String> measures, String status, List<Double> percentiles);
+
+    /**
+     * Rebuild the snapshot from the database
+     */
+    void refresh();
+}
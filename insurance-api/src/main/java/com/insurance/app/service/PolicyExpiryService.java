@@ -0,0 +1,14 @@
+package com.insurance.app.service;
+
+/**
+ * Service interface for materializing policy expiry
+ * Moves ACTIVE policies whose end date has passed to EXPIRED, so status alone answers
+ * whether a policy is active
+ */
+public interface PolicyExpiryService {
+
+    /**
+     * Expire every due policy in bounded batches, returns the number of policies expired
+     */
+    int expireDuePolicies();
+}
@@ -0,0 +1,22 @@
+package com.insurance.app.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.insurance.app.dto.PolicyFilter;
+
+/**
+ * Service interface for streaming policy exports
+ */
+public interface PolicyExportService {
+
+    /**
+     * Check a filter and format before the response is committed
+     */
+    void validate(PolicyFilter filter, String format);
+
+    /**
+     * Write every policy matching the filter to the stream as NDJSON or CSV (with header row)
+     */
+    void exportPolicies(PolicyFilter filter, String format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.insurance.app.service;
+
+import java.io.InputStream;
+
+import com.insurance.app.dto.PolicyImportResultDto;
+
+/**
+ * Service interface for bulk policy import
+ */
+public interface PolicyImportService {
+
+    /**
+     * Import policies from a CSV (with header row) or NDJSON stream
+     * The stream is read incrementally and written in JDBC batches
+     */
+    PolicyImportResultDto importPolicies(InputStream content, String contentType);
+}
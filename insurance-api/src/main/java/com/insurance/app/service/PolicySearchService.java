@@ -0,0 +1,22 @@
+package com.insurance.app.service;
+
+import java.util.List;
+
+import com.insurance.app.search.SearchField;
+
+/**
+ * Service interface for free text policy search
+ * Matches are served from an in-memory index kept current by policy and vehicle change events
+ */
+public interface PolicySearchService {
+
+    /**
+     * Find the ids of policies matching every term of the query in the given fields, best match first
+     */
+    List<Long> search(String query, SearchField... fields);
+
+    /**
+     * Rebuild the index from the database
+     */
+    void rebuild();
+}
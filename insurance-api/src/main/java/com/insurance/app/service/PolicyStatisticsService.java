@@ -0,0 +1,20 @@
+package com.insurance.app.service;
+
+import com.insurance.app.dto.PolicyStatisticsDto;
+
+/**
+ * Service interface for dashboard statistics
+ * Counts are kept in memory and maintained incrementally from policy change events
+ */
+public interface PolicyStatisticsService {
+
+    /**
+     * Get current policy counts, with the expiring window measured from today
+     */
+    PolicyStatisticsDto getStatistics(int expiringWithinDays);
+
+    /**
+     * Rebuild all counters from the database
+     */
+    void recompute();
+}
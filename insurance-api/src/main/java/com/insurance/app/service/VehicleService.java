@@ -0,0 +1,61 @@
+package com.insurance.app.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import com.insurance.app.dto.FleetVehicleDto;
+import com.insurance.app.dto.VehicleDto;
+
+/**
+ * Service interface for Vehicle operations
+ * Defines CRUD operations, owner and identifier lookups and the fleet summary
+ */
+public interface VehicleService {
+    
+    /**
+     * Create a new vehicle
+     */
+    VehicleDto createVehicle(VehicleDto vehicleDto);
+    
+    /**
+     * Get a vehicle by id
+     */
+    VehicleDto getVehicleById(Long id);
+    
+    /**
+     * Get a vehicle by VIN
+     */
+    VehicleDto getVehicleByVin(String vin);
+    
+    /**
+     * Get the vehicles registered under a registration number
+     */
+    List<VehicleDto> getVehiclesByRegistrationNumber(String registrationNumber);
+    
+    /**
+     * Get all vehicles with pagination
+     */
+    Page<VehicleDto> getAllVehicles(int pageNo, int pageSize, String sortBy, String sortDir);
+    
+    /**
+     * Get the vehicles of an owner with pagination, all owners with that last name when no first name is given
+     */
+    Page<VehicleDto> getVehiclesByOwner(String ownerLastName, String ownerFirstName,
+            int pageNo, int pageSize, String sortBy, String sortDir);
+    
+    /**
+     * Get vehicles with their current active policy, optionally of one owner last name
+     */
+    Page<FleetVehicleDto> getFleet(String ownerLastName, int pageNo, int pageSize, String sortBy, String sortDir);
+    
+    /**
+     * Update an existing vehicle
+     */
+    VehicleDto updateVehicle(Long id, VehicleDto vehicleDto);
+    
+    /**
+     * Delete a vehicle that no policy references
+     */
+    void deleteVehicle(Long id);
+}
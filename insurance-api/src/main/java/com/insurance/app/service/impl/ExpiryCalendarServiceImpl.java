@@ -0,0 +1,157 @@
+package com.insurance.app.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.projection.PolicyExpiryView;
+import com.insurance.app.routing.ReadFromPrimary;
+import com.insurance.app.search.ExpiryCalendar;
+import com.insurance.app.service.ExpiryCalendarService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Implementation of ExpiryCalendarService
+ * Holds every policy regardless of status, matching findByEndDateBetween. Only end date changes
+ * touch the calendar, so the status updates of the expiry sweep pass straight through.
+ */
+@Service
+public class ExpiryCalendarServiceImpl implements ExpiryCalendarService {
+
+    private final InsurancePolicyRepository policyRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced wholesale by rebuild, read and modified under the lock
+    private ExpiryCalendar calendar = new ExpiryCalendar();
+    // Changes committed while a rebuild runs, replayed onto the rebuilt calendar, null otherwise
+    private List<PolicyChangedEvent> pending;
+
+    @Autowired
+    public ExpiryCalendarServiceImpl(InsurancePolicyRepository policyRepository, MeterRegistry meterRegistry) {
+        this.policyRepository = policyRepository;
+        Gauge.builder("policy.expiry.calendar.size", this, ExpiryCalendarServiceImpl::size)
+                .description("Policies held in the expiry calendar")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long countExpiring(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return calendar.count(startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> findExpiring(LocalDate startDate, LocalDate endDate, long offset, int limit, boolean ascending) {
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = calendar.ids(startDate, endDate, offset, limit, ascending);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    /**
+     * Rebuild the calendar from one streamed projection query, run once the application is ready
+     * Rows arrive in calendar order, so every add appends. Readers keep using the old calendar until it is swapped.
+     * Read from the primary like the search index rebuild
+     * Changes committed while the query runs may be missing from its rows, so they are recorded and
+     * replayed onto the new calendar before the swap. Replaying one the rows already hold is harmless,
+     * adds and removes of a policy already in place do nothing and later changes override earlier ones.
+     */
+    @Override
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ExpiryCalendar rebuilt = new ExpiryCalendar();
+        try (Stream<PolicyExpiryView> views = policyRepository.streamExpiryViews()) {
+            views.forEach(view -> rebuilt.add(view.getEndDate(), view.getId()));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            calendar = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed policy change to the calendar
+     */
+    @TransactionalEventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        PolicySnapshot before = event.getBefore();
+        PolicySnapshot after = event.getAfter();
+        if (before != null && after != null && before.getEndDate().equals(after.getEndDate())) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            apply(calendar, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(ExpiryCalendar target, PolicyChangedEvent event) {
+        if (event.getBefore() != null) {
+            target.remove(event.getBefore().getEndDate(), event.getBefore().getId());
+        }
+        if (event.getAfter() != null) {
+            target.add(event.getAfter().getEndDate(), event.getAfter().getId());
+        }
+    }
+
+    private double size() {
+        lock.readLock().lock();
+        try {
+            return calendar.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.insurance.app.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import com.insurance.app.service.ImageStorageService;
+import com.insurance.app.util.Constants;
+
+/**
+ * Implementation of ImageStorageService backed by the local filesystem
+ * Files are written to a temporary file while hashing, then moved to <root>/<first two hash chars>/<hash>
+ */
+@Service
+public class FileSystemImageStorageService implements ImageStorageService {
+
+    private final Path root;
+
+    public FileSystemImageStorageService(@Value("${app.image-storage.path:data/images}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Store image bytes read from the stream
+     */
+    @Override
+    public String store(InputStream content) {
+        try {
+            Files.createDirectories(root);
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    content.transferTo(out);
+                }
+                String hash = HexFormat.of().formatHex(digest.digest());
+
+                Path target = pathFor(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return hash;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Store already decoded image bytes
+     */
+    @Override
+    public String store(byte[] content) {
+        return store(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Load the image stored under the given hash
+     */
+    @Override
+    public Resource load(String hash) {
+        Path path = pathFor(hash);
+        if (!Files.isReadable(path)) {
+            throw new RuntimeException(Constants.ERROR_IMAGE_NOT_FOUND + hash);
+        }
+        return new FileSystemResource(path);
+    }
+
+    private Path pathFor(String hash) {
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid image hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
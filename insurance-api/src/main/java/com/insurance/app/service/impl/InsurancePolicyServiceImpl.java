@@ -1,24 +1,62 @@
 package com.insurance.app.service.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.insurance.app.concurrency.PolicyLookupCoalescer;
 import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyBatchGetEntryDto;
+import com.insurance.app.dto.PolicyBatchGetRequestDto;
+import com.insurance.app.dto.PolicyBatchGetResultDto;
+import com.insurance.app.dto.PolicyCursor;
+import com.insurance.app.dto.PolicyFilter;
+import com.insurance.app.dto.PolicyWindowDto;
+import com.insurance.app.dto.VehicleImageDto;
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
 import com.insurance.app.model.InsurancePolicy;
 import com.insurance.app.model.Vehicle;
 import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.PolicySortField;
+import com.insurance.app.repository.PolicySortKey;
 import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.repository.projection.VehicleImageView;
+import com.insurance.app.routing.ReadFromPrimary;
+import com.insurance.app.search.SearchField;
+import com.insurance.app.service.ExpiryCalendarService;
+import com.insurance.app.service.ImageStorageService;
 import com.insurance.app.service.InsurancePolicyService;
+import com.insurance.app.service.PolicySearchService;
 import com.insurance.app.util.Constants;
 
 /**
@@ -30,11 +68,24 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
 
     private final InsurancePolicyRepository policyRepository;
     private final VehicleRepository vehicleRepository;
+    private final ImageStorageService imageStorageService;
+    private final PolicySearchService policySearchService;
+    private final ExpiryCalendarService expiryCalendarService;
+    private final PolicyLookupCoalescer lookupCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public InsurancePolicyServiceImpl(InsurancePolicyRepository policyRepository, VehicleRepository vehicleRepository) {
+    public InsurancePolicyServiceImpl(InsurancePolicyRepository policyRepository, VehicleRepository vehicleRepository,
+            ImageStorageService imageStorageService, PolicySearchService policySearchService,
+            ExpiryCalendarService expiryCalendarService, PolicyLookupCoalescer lookupCoalescer,
+            ApplicationEventPublisher eventPublisher) {
         this.policyRepository = policyRepository;
         this.vehicleRepository = vehicleRepository;
+        this.imageStorageService = imageStorageService;
+        this.policySearchService = policySearchService;
+        this.expiryCalendarService = expiryCalendarService;
+        this.lookupCoalescer = lookupCoalescer;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -55,156 +106,263 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
         // Create new policy
         InsurancePolicy policy = mapToEntity(policyDto, vehicle);
         policy.setStatus(Constants.POLICY_STATUS_ACTIVE);
+        if (policyDto.getVehicleImage() != null && !policyDto.getVehicleImage().isBlank()) {
+            storeBase64Image(policy, policyDto.getVehicleImage());
+        }
         policy.setCreatedAt(LocalDateTime.now());
         policy.setUpdatedAt(LocalDateTime.now());
         
         // Save and return
         InsurancePolicy savedPolicy = policyRepository.save(policy);
+        eventPublisher.publishEvent(PolicyChangedEvent.created(PolicySnapshot.of(savedPolicy)));
         return mapToDto(savedPolicy);
     }
 
     /**
-     * Get a policy by id
+     * Get a policy by id, cached until the policy changes
+     * Cache misses close together share one query, which runs in its own short transaction
+     * so no connection is held while a lookup waits for its batch
+     * Read from the primary, a replica could fill the cache with a version older than the client's own write
      */
     @Override
+    @ReadFromPrimary
+    @Cacheable(cacheNames = Constants.POLICY_CACHE, key = "#id")
     public InsurancePolicyDto getPolicyById(Long id) {
-        InsurancePolicy policy = policyRepository.findById(id)
+        return lookupCoalescer.findById(id)
                 .orElseThrow(() -> new RuntimeException(Constants.ERROR_POLICY_NOT_FOUND + id));
-        return mapToDto(policy);
     }
 
     /**
-     * Get a policy by policy number
+     * Get a policy by policy number, cached until the policy changes
+     * Cache misses are coalesced, and read from the primary, like getPolicyById
      */
     @Override
+    @ReadFromPrimary
+    @Cacheable(cacheNames = Constants.POLICY_BY_NUMBER_CACHE, key = "#policyNumber")
     public InsurancePolicyDto getPolicyByPolicyNumber(String policyNumber) {
-        InsurancePolicy policy = policyRepository.findByPolicyNumber(policyNumber)
+        return lookupCoalescer.findByPolicyNumber(policyNumber)
                 .orElseThrow(() -> new RuntimeException("Insurance policy not found with number: " + policyNumber));
-        return mapToDto(policy);
+    }
+
+    /**
+     * Get policies by ids and policy numbers, one IN query for the distinct ids and one for the numbers
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PolicyBatchGetResultDto batchGetPolicies(PolicyBatchGetRequestDto request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        List<String> policyNumbers = request.getPolicyNumbers() != null ? request.getPolicyNumbers() : List.of();
+        int keys = ids.size() + policyNumbers.size();
+        if (keys == 0 || keys > Constants.MAX_BATCH_GET_KEYS) {
+            throw new RuntimeException(Constants.ERROR_BATCH_GET_SIZE);
+        }
+
+        Map<Long, InsurancePolicyDto> byId = lookupCoalescer.findByIds(
+                ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new)));
+        Map<String, InsurancePolicyDto> byNumber = lookupCoalescer.findByPolicyNumbers(
+                policyNumbers.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        List<PolicyBatchGetEntryDto> results = new ArrayList<>(keys);
+        int found = 0;
+        for (Long id : ids) {
+            InsurancePolicyDto policy = id != null ? byId.get(id) : null;
+            results.add(PolicyBatchGetEntryDto.builder().id(id).found(policy != null).policy(policy).build());
+            found += policy != null ? 1 : 0;
+        }
+        for (String policyNumber : policyNumbers) {
+            InsurancePolicyDto policy = policyNumber != null ? byNumber.get(policyNumber) : null;
+            results.add(PolicyBatchGetEntryDto.builder()
+                    .policyNumber(policyNumber).found(policy != null).policy(policy).build());
+            found += policy != null ? 1 : 0;
+        }
+        return PolicyBatchGetResultDto.builder()
+                .found(found)
+                .notFound(keys - found)
+                .results(results)
+                .build();
     }
 
     /**
      * Get all policies with pagination
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getAllPolicies(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findAll(pageable);
-        
-        return policies.map(this::mapToDto);
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        return policyRepository.findAllDtos(pageable);
     }
 
     /**
      * Get policies by vehicle id with pagination
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getPoliciesByVehicleId(Long vehicleId, int pageNo, int pageSize, String sortBy, String sortDir) {
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new RuntimeException(Constants.ERROR_VEHICLE_NOT_FOUND + vehicleId));
-        
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByVehicle(vehicle, pageable);
+        // Not the cached findById, a replica read must not fill the vehicle cache
+        if (!vehicleRepository.existsById(vehicleId)) {
+            throw new RuntimeException(Constants.ERROR_VEHICLE_NOT_FOUND + vehicleId);
+        }
         
-        return policies.map(this::mapToDto);
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        return policyRepository.findByVehicleId(vehicleId, pageable);
     }
 
     /**
-     * Get policies by provider with pagination
+     * Get policies by provider with pagination, matched through the search index
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getPoliciesByProvider(String provider, int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByProviderContainingIgnoreCase(provider, pageable);
-        
-        return policies.map(this::mapToDto);
+        return searchPage(policySearchService.search(provider, SearchField.PROVIDER), pageNo, pageSize, sortBy, sortDir);
     }
 
     /**
      * Get policies by expiry date range with pagination
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getPoliciesByExpiryDateRange(LocalDate startDate, LocalDate endDate, int pageNo, int pageSize, String sortBy, String sortDir) {
         if (endDate.isBefore(startDate)) {
             throw new RuntimeException(Constants.ERROR_INVALID_DATE_RANGE);
         }
         
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        boolean ascending = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name());
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
         
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByEndDateBetween(startDate, endDate, pageable);
-        
-        return policies.map(this::mapToDto);
+        // The total comes from the expiry calendar, and in end date order so does the page itself
+        long total = expiryCalendarService.countExpiring(startDate, endDate);
+        if (PolicySortField.END_DATE.getApiName().equals(sortBy)) {
+            List<Long> ids = expiryCalendarService.findExpiring(startDate, endDate, pageable.getOffset(), pageSize, ascending);
+            return new PageImpl<>(findDtosInOrder(ids), pageable, total);
+        }
+        if (total == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        return new PageImpl<>(policyRepository.findDtosByEndDateBetween(startDate, endDate, pageable), pageable, total);
     }
 
     /**
      * Get active policies with pagination
+     * Status is kept current by the expiry sweep, so this is a plain status lookup
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getActivePolicies(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByEndDateAfterAndStatus(
-                LocalDate.now(), Constants.POLICY_STATUS_ACTIVE, pageable);
-        
-        return policies.map(this::mapToDto);
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        return policyRepository.findByStatus(Constants.POLICY_STATUS_ACTIVE, pageable);
     }
 
     /**
      * Get expired policies with pagination
+     * Status is kept current by the expiry sweep, so this is a plain status lookup
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getExpiredPolicies(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByEndDateBefore(LocalDate.now(), pageable);
-        
-        return policies.map(this::mapToDto);
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        return policyRepository.findByStatus(Constants.POLICY_STATUS_EXPIRED, pageable);
     }
 
     /**
-     * Get policies by vehicle details with pagination
+     * Get policies by vehicle, owner, provider or policy number text with pagination,
+     * matched through the search index
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getPoliciesByVehicleDetails(String searchTerm, int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByVehicleDetails(searchTerm, pageable);
-        
-        return policies.map(this::mapToDto);
+        return searchPage(policySearchService.search(searchTerm), pageNo, pageSize, sortBy, sortDir);
     }
 
     /**
      * Get policies by premium amount range with pagination
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<InsurancePolicyDto> getPoliciesByPremiumRange(BigDecimal minAmount, BigDecimal maxAmount, int pageNo, int pageSize, String sortBy, String sortDir) {
         if (minAmount.compareTo(maxAmount) > 0) {
             throw new RuntimeException("Minimum amount cannot be greater than maximum amount");
         }
         
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        return policyRepository.findByPremiumAmountRange(minAmount, maxAmount, pageable);
+    }
+
+    /**
+     * Get one page of policies matching any combination of filter criteria
+     * All criteria go into one WHERE clause of a single query, the count query only runs for full pages
+     * Text criteria are resolved through the search index, their matches are sorted and paged in memory
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InsurancePolicyDto> queryPolicies(PolicyFilter filter, int pageNo, int pageSize, String sortBy, String sortDir) {
+        PolicySortField sortField = PolicySortField.fromApiName(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        PolicyFilter resolved = resolveFilter(filter);
+        if (resolved.getPolicyIds() != null) {
+            List<Long> ids = sortedMatches(resolved, sortField, direction).stream().map(PolicySortKey::id).toList();
+            return idPage(ids, PageRequest.of(pageNo, pageSize));
+        }
+        return policyRepository.findDtos(resolved, sortField, direction, PageRequest.of(pageNo, pageSize));
+    }
+
+    /**
+     * Get one keyset paginated window of policies
+     * Fetches limit + 1 rows to learn whether another window exists, so no count query is needed
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PolicyWindowDto scrollPolicies(PolicyFilter filter, String after, int limit, String sortBy, String sortDir) {
+        if (limit < 1 || limit > Constants.MAX_WINDOW_LIMIT) {
+            throw new RuntimeException(Constants.ERROR_INVALID_LIMIT);
+        }
+        filter = resolveFilter(filter);
+        
+        PolicySortField sortField = PolicySortField.fromApiName(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        
+        Object afterValue = null;
+        Long afterId = null;
+        if (after != null && !after.isEmpty()) {
+            PolicyCursor cursor = PolicyCursor.decode(after);
+            if (!cursor.getSortBy().equals(sortField.getApiName()) || !cursor.getSortDir().equals(direction.name())) {
+                throw new RuntimeException(Constants.ERROR_CURSOR_MISMATCH);
+            }
+            afterValue = sortField.parse(cursor.getSortValue());
+            afterId = cursor.getId();
+        }
+        
+        List<InsurancePolicyDto> rows;
+        if (filter.getPolicyIds() != null) {
+            List<PolicySortKey> matches = sortedMatches(filter, sortField, direction);
+            int from = 0;
+            if (afterId != null) {
+                int found = Collections.binarySearch(matches, new PolicySortKey(afterId, afterValue),
+                        PolicySortKey.order(direction));
+                from = found >= 0 ? found + 1 : -found - 1;
+            }
+            List<PolicySortKey> window = matches.subList(from, Math.min(from + limit + 1, matches.size()));
+            rows = findDtosInOrder(window.stream().map(PolicySortKey::id).toList());
+        } else {
+            rows = policyRepository.findDtosAfter(filter, sortField, direction, afterValue, afterId, limit + 1);
+        }
         
-        Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
-        Page<InsurancePolicy> policies = policyRepository.findByPremiumAmountRange(minAmount, maxAmount, pageable);
+        boolean hasNext = rows.size() > limit;
+        List<InsurancePolicyDto> policies = hasNext ? rows.subList(0, limit) : rows;
         
-        return policies.map(this::mapToDto);
+        String nextCursor = null;
+        if (hasNext) {
+            InsurancePolicyDto last = policies.get(policies.size() - 1);
+            nextCursor = new PolicyCursor(sortField.getApiName(), direction.name(),
+                    String.valueOf(sortField.valueOf(last)), last.getId()).encode();
+        }
+        
+        return PolicyWindowDto.builder()
+                .policies(policies)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     /**
@@ -213,14 +371,18 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
     @Override
     @Transactional
     public InsurancePolicyDto updatePolicy(Long id, InsurancePolicyDto policyDto) {
-        // Get the existing policy
-        InsurancePolicy policy = policyRepository.findById(id)
+        // Get the existing policy, with the vehicle its DTO is built from
+        InsurancePolicy policy = policyRepository.findWithVehicleById(id)
                 .orElseThrow(() -> new RuntimeException(Constants.ERROR_POLICY_NOT_FOUND + id));
         
+        // Reject edits of a stale copy
+        checkVersion(policy, policyDto.getVersion());
+        
         // Check if policy is active
         if (!policy.getStatus().equals(Constants.POLICY_STATUS_ACTIVE)) {
             throw new RuntimeException(Constants.ERROR_EXPIRED_POLICY);
         }
+        PolicySnapshot before = PolicySnapshot.of(policy);
         
         // Update vehicle if changed
         Vehicle vehicle = policy.getVehicle();
@@ -248,8 +410,14 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
         policy.setNotes(policyDto.getNotes());
         policy.setUpdatedAt(LocalDateTime.now());
         
-        // Save and return
-        InsurancePolicy updatedPolicy = policyRepository.save(policy);
+        // Save and flush, so a concurrent update fails here and the returned version is the new one
+        InsurancePolicy updatedPolicy;
+        try {
+            updatedPolicy = policyRepository.saveAndFlush(policy);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, Constants.ERROR_STALE_POLICY + id, e);
+        }
+        eventPublisher.publishEvent(PolicyChangedEvent.updated(before, PolicySnapshot.of(updatedPolicy)));
         return mapToDto(updatedPolicy);
     }
 
@@ -258,12 +426,215 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
      */
     @Override
     @Transactional
-    public void deletePolicy(Long id) {
+    public void deletePolicy(Long id, Long expectedVersion) {
         InsurancePolicy policy = policyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(Constants.ERROR_POLICY_NOT_FOUND + id));
+        checkVersion(policy, expectedVersion);
         
+        try {
+            policyRepository.delete(policy);
+            policyRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, Constants.ERROR_STALE_POLICY + id, e);
+        }
+        eventPublisher.publishEvent(PolicyChangedEvent.deleted(PolicySnapshot.of(policy)));
+    }
+    
+    /**
+     * Get the vehicle image of a policy
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VehicleImageDto getVehicleImage(Long id) {
+        VehicleImageView image = policyRepository.findVehicleImageById(id)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_POLICY_NOT_FOUND + id));
+        if (image.getHash() == null) {
+            throw new RuntimeException(Constants.ERROR_IMAGE_NOT_FOUND + id);
+        }
+        return new VehicleImageDto(image.getHash(), image.getContentType(), imageStorageService.load(image.getHash()));
+    }
+    
+    /**
+     * Replace the vehicle image of a policy with raw image bytes
+     */
+    @Override
+    @Transactional
+    public void updateVehicleImage(Long id, InputStream content, String contentType) {
+        InsurancePolicy policy = policyRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_POLICY_NOT_FOUND + id));
+        PolicySnapshot before = PolicySnapshot.of(policy);
+        String imageType = imageContentType(contentType, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
         
-        policyRepository.delete(policy);
+        policy.setVehicleImageHash(imageStorageService.store(content));
+        policy.setVehicleImageContentType(imageType);
+        policy.setUpdatedAt(LocalDateTime.now());
+        InsurancePolicy updatedPolicy = policyRepository.save(policy);
+        eventPublisher.publishEvent(PolicyChangedEvent.updated(before, PolicySnapshot.of(updatedPolicy)));
+    }
+    
+    /**
+     * Fail with 412 when the policy is no longer at the expected version, null expects any version
+     */
+    private static void checkVersion(InsurancePolicy policy, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(policy.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, Constants.ERROR_STALE_POLICY + policy.getId());
+        }
+    }
+    
+    /**
+     * Load policies by id, in the order of the given ids
+     */
+    private List<InsurancePolicyDto> findDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, InsurancePolicyDto> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += Constants.MAX_IN_LIST_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + Constants.MAX_IN_LIST_SIZE, ids.size()));
+            policyRepository.findDtosByIdIn(chunk, Pageable.unpaged()).forEach(policy -> byId.put(policy.getId(), policy));
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One page of search matches, in relevance order or sorted by a policy field
+     * Only the policies on the page are loaded, however many policies matched
+     */
+    private Page<InsurancePolicyDto> searchPage(List<Long> ids, int pageNo, int pageSize, String sortBy, String sortDir) {
+        if (Constants.SORT_BY_RELEVANCE.equalsIgnoreCase(sortBy)) {
+            return idPage(ids, PageRequest.of(pageNo, pageSize));
+        }
+        
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        PolicySortField sortField = PolicySortField.fromApiName(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        // The index only holds live policies, so id order needs no sort keys from the database
+        if (sortField == PolicySortField.ID) {
+            List<Long> sorted = new ArrayList<>(ids);
+            sorted.sort(direction.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder());
+            return idPage(sorted, pageable);
+        }
+        List<PolicySortKey> matches = sortedMatches(PolicyFilter.builder().policyIds(ids).build(), sortField, direction);
+        return idPage(matches.stream().map(PolicySortKey::id).toList(), pageable);
+    }
+    
+    /**
+     * Load the page of an ordered id list
+     */
+    private Page<InsurancePolicyDto> idPage(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        List<Long> pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        return new PageImpl<>(findDtosInOrder(pageIds), pageable, ids.size());
+    }
+    
+    /**
+     * Sort keys of the policies in filter.policyIds that match the rest of the filter, in (sortField, id) order
+     * A broad search can match most policies, so its ids are never bound into a single IN list
+     */
+    private List<PolicySortKey> sortedMatches(PolicyFilter filter, PolicySortField sortField, Sort.Direction direction) {
+        List<PolicySortKey> matches = new ArrayList<>(
+                policyRepository.findSortKeys(filter, sortField, filter.getPolicyIds()));
+        matches.sort(PolicySortKey.order(direction));
+        return matches;
+    }
+    
+    /**
+     * Page request sorted by a whitelisted field, with id breaking ties so pages never overlap
+     */
+    private static Pageable pageable(int pageNo, int pageSize, String sortBy, String sortDir) {
+        PolicySortField sortField = PolicySortField.fromApiName(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortField.getPath());
+        if (sortField != PolicySortField.ID) {
+            sort = sort.and(Sort.by(direction, PolicySortField.ID.getPath()));
+        }
+        return PageRequest.of(pageNo, pageSize, sort);
+    }
+    
+    /**
+     * Validate the ranges of a filter and resolve its text criteria to ids through the search index,
+     * which the listings sort and page in memory instead of LIKE scans
+     */
+    private PolicyFilter resolveFilter(PolicyFilter filter) {
+        if (filter.getExpiryFrom() != null && filter.getExpiryTo() != null
+                && filter.getExpiryTo().isBefore(filter.getExpiryFrom())) {
+            throw new RuntimeException(Constants.ERROR_INVALID_DATE_RANGE);
+        }
+        if (filter.getMinPremium() != null && filter.getMaxPremium() != null
+                && filter.getMinPremium().compareTo(filter.getMaxPremium()) > 0) {
+            throw new RuntimeException("Minimum amount cannot be greater than maximum amount");
+        }
+        
+        // Blank text criteria are treated as absent, like the other criteria left empty in a query string
+        String searchTerm = StringUtils.hasText(filter.getSearchTerm()) ? filter.getSearchTerm() : null;
+        String providerContains = StringUtils.hasText(filter.getProviderContains()) ? filter.getProviderContains() : null;
+        return filter.toBuilder()
+                .searchTerm(null)
+                .providerContains(null)
+                .policyIds(searchTerm != null || providerContains != null ? searchIds(searchTerm, providerContains) : null)
+                .build();
+    }
+    
+    /**
+     * Ids matching both text criteria, either may be null
+     */
+    private List<Long> searchIds(String searchTerm, String providerContains) {
+        List<Long> ids = null;
+        if (searchTerm != null) {
+            // Copied, the intersection below modifies it
+            ids = new ArrayList<>(policySearchService.search(searchTerm));
+        }
+        if (providerContains != null) {
+            List<Long> providerIds = policySearchService.search(providerContains, SearchField.PROVIDER);
+            if (ids == null) {
+                ids = providerIds;
+            } else {
+                ids.retainAll(new HashSet<>(providerIds));
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * Content type to store for an uploaded image, only image types are accepted so the image endpoint
+     * never serves client supplied HTML or script, none declared stores the default
+     */
+    private static String imageContentType(String declaredType, HttpStatus rejectStatus) {
+        if (declaredType == null || declaredType.isBlank()) {
+            return Constants.DEFAULT_IMAGE_CONTENT_TYPE;
+        }
+        return VehicleImageDto.imageMediaType(declaredType)
+                .map(MediaType::toString)
+                .orElseThrow(() -> new ResponseStatusException(rejectStatus, Constants.ERROR_UNSUPPORTED_IMAGE_TYPE + declaredType));
+    }
+    
+    /**
+     * Decode a base64 image (plain or data URL) into the image store and reference it from the policy
+     */
+    private void storeBase64Image(InsurancePolicy policy, String image) {
+        String contentType = Constants.DEFAULT_IMAGE_CONTENT_TYPE;
+        int dataStart = 0;
+        
+        // Data URL form: data:<content type>;base64,<data>
+        if (image.startsWith("data:")) {
+            int comma = image.indexOf(',');
+            if (comma < 0) {
+                throw new RuntimeException(Constants.ERROR_INVALID_IMAGE);
+            }
+            String header = image.substring("data:".length(), comma);
+            int separator = header.indexOf(';');
+            String declaredType = separator < 0 ? header : header.substring(0, separator);
+            contentType = imageContentType(declaredType, HttpStatus.BAD_REQUEST);
+            dataStart = comma + 1;
+        }
+        
+        policy.setVehicleImageHash(imageStorageService.store(new Base64ImageStream(image, dataStart)));
+        policy.setVehicleImageContentType(contentType);
     }
     
     /**
@@ -288,7 +659,8 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
                 .collisionCoverageAmount(policy.getCollisionCoverageAmount())
                 .status(policy.getStatus())
                 .notes(policy.getNotes())
-                .vehicleImage(policy.getVehicleImage())
+                .version(policy.getVersion())
+                .vehicleImageUrl(InsurancePolicyDto.imageUrl(policy.getId(), policy.getVehicleImageHash()))
                 .build();
     }
     
@@ -310,7 +682,77 @@ public class InsurancePolicyServiceImpl implements InsurancePolicyService {
                 .collisionCoverageAmount(dto.getCollisionCoverageAmount())
                 .status(dto.getStatus())
                 .notes(dto.getNotes())
-                .vehicleImage(dto.getVehicleImage())
                 .build();
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Image bytes decoded while they are read, straight from the base64 text after the given offset
+     * Neither the base64 text nor the decoded image is copied into an array of its own, and
+     * malformed base64 fails with ERROR_INVALID_IMAGE rather than as an error of the image store
+     */
+    private static final class Base64ImageStream extends InputStream {
+
+        private final InputStream decoded;
+
+        Base64ImageStream(String text, int from) {
+            this.decoded = Base64.getMimeDecoder().wrap(new TextStream(text, from));
+        }
+
+        @Override
+        public int read() {
+            try {
+                return decoded.read();
+            } catch (IOException e) {
+                throw new RuntimeException(Constants.ERROR_INVALID_IMAGE, e);
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            try {
+                return decoded.read(buffer, offset, length);
+            } catch (IOException e) {
+                throw new RuntimeException(Constants.ERROR_INVALID_IMAGE, e);
+            }
+        }
+    }
+
+    /**
+     * Characters of a string from an offset as ISO-8859-1 bytes, the encoding Base64.Decoder.decode(String) reads
+     */
+    private static final class TextStream extends InputStream {
+
+        private final String text;
+        private int position;
+
+        TextStream(String text, int from) {
+            this.text = text;
+            this.position = from;
+        }
+
+        @Override
+        public int read() {
+            return position < text.length() ? latin1(text.charAt(position++)) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (length == 0) {
+                return 0;
+            }
+            int count = Math.min(length, text.length() - position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) latin1(text.charAt(position++));
+            }
+            return count;
+        }
+
+        private static int latin1(char c) {
+            return c <= 0xFF ? c : '?';
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.insurance.app.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.app.analytics.AnalyticsDimension;
+import com.insurance.app.analytics.AnalyticsMeasure;
+import com.insurance.app.analytics.PolicyColumns;
+import com.insurance.app.dto.AmountStatisticsDto;
+import com.insurance.app.dto.PolicyAnalyticsDto;
+import com.insurance.app.dto.PolicyAnalyticsGroupDto;
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.VehicleChangedEvent;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.projection.PolicyAnalyticsView;
+import com.insurance.app.service.PolicyAnalyticsService;
+import com.insurance.app.util.Constants;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Implementation of PolicyAnalyticsService
+ * The snapshot is rebuilt from one streamed projection query on startup and, once a policy or
+ * vehicle change has committed, on the app.analytics.refresh-interval schedule. Queries read
+ * whichever snapshot is current, so results lag writes by at most one interval plus a rebuild.
+ */
+@Service
+public class PolicyAnalyticsServiceImpl implements PolicyAnalyticsService {
+
+    private static final AnalyticsMeasure[] ALL_MEASURES = AnalyticsMeasure.values();
+
+    private final InsurancePolicyRepository policyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile PolicyColumns snapshot = PolicyColumns.empty();
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    @Autowired
+    public PolicyAnalyticsServiceImpl(InsurancePolicyRepository policyRepository,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.policyRepository = policyRepository;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("policy.analytics.snapshot.size", this, service -> service.snapshot.getRows())
+                .description("Policies held in the analytics snapshot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public PolicyAnalyticsDto aggregate(List<String> groupBy, List<String> measures, String status,
+            List<Double> percentiles) {
+        List<AnalyticsDimension> dimensions = groupBy.stream()
+                .map(AnalyticsDimension::fromApiName)
+                .distinct()
+                .toList();
+        List<AnalyticsMeasure> selected = measures.isEmpty() ? List.of(ALL_MEASURES) : measures.stream()
+                .map(AnalyticsMeasure::fromApiName)
+                .distinct()
+                .toList();
+        double[] ranks = new double[percentiles.size()];
+        for (int i = 0; i < ranks.length; i++) {
+            double percentile = percentiles.get(i);
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new RuntimeException(Constants.ERROR_INVALID_PERCENTILE);
+            }
+            ranks[i] = percentile;
+        }
+
+        Map<AnalyticsDimension, Object> filters = new EnumMap<>(AnalyticsDimension.class);
+        if (status != null) {
+            filters.put(AnalyticsDimension.STATUS, status);
+        }
+
+        PolicyColumns columns = snapshot;
+        List<PolicyColumns.GroupAggregate> aggregates = columns.aggregate(dimensions, selected, filters, ranks);
+
+        List<PolicyAnalyticsGroupDto> groups = new ArrayList<>(aggregates.size());
+        long policies = 0;
+        for (PolicyColumns.GroupAggregate aggregate : aggregates) {
+            Map<String, Object> key = new LinkedHashMap<>();
+            for (int d = 0; d < dimensions.size(); d++) {
+                key.put(dimensions.get(d).getApiName(), aggregate.key()[d]);
+            }
+            Map<String, AmountStatisticsDto> groupMeasures = new LinkedHashMap<>();
+            for (AnalyticsMeasure measure : selected) {
+                groupMeasures.put(measure.getApiName(), toDto(aggregate.measures().get(measure), percentiles));
+            }
+            groups.add(PolicyAnalyticsGroupDto.builder()
+                    .key(key)
+                    .policies(aggregate.policies())
+                    .measures(groupMeasures)
+                    .build());
+            policies += aggregate.policies();
+        }
+
+        return PolicyAnalyticsDto.builder()
+                .snapshotAt(columns.getBuiltAt())
+                .policies(policies)
+                .groupBy(dimensions.stream().map(AnalyticsDimension::getApiName).toList())
+                .groups(groups)
+                .build();
+    }
+
+    /**
+     * Rebuild the snapshot, run once the application is ready
+     * Readers keep using the old snapshot until the new one is complete
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        changed.set(false);
+        LocalDateTime builtAt = LocalDateTime.now();
+        snapshot = transactionTemplate.execute(status -> {
+            PolicyColumns.Builder builder = PolicyColumns.builder();
+            try (Stream<PolicyAnalyticsView> views = policyRepository.streamAnalyticsViews()) {
+                views.forEach(view -> builder.add(
+                        new Object[] { view.getProvider(), view.getCoverageType(), view.getVehicleMake(),
+                                view.getVehicleYear(), view.getStatus() },
+                        new Long[] { view.getPremiumCents(), view.getDeductibleCents(),
+                                view.getLiabilityCoverageCents(), view.getComprehensiveCoverageCents(),
+                                view.getCollisionCoverageCents() }));
+            }
+            return builder.build(builtAt);
+        });
+    }
+
+    /**
+     * Rebuild the snapshot when a change has committed since the last rebuild
+     */
+    @Scheduled(fixedDelayString = Constants.ANALYTICS_REFRESH_INTERVAL,
+            initialDelayString = Constants.ANALYTICS_REFRESH_INTERVAL)
+    public void refreshIfChanged() {
+        if (changed.get()) {
+            refresh();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        changed.set(true);
+    }
+
+    @TransactionalEventListener
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        changed.set(true);
+    }
+
+    private static AmountStatisticsDto toDto(PolicyColumns.MeasureAggregate aggregate, List<Double> percentiles) {
+        long count = aggregate.count();
+        Map<String, BigDecimal> percentileValues = new LinkedHashMap<>();
+        for (int p = 0; p < percentiles.size(); p++) {
+            String name = "p" + BigDecimal.valueOf(percentiles.get(p)).stripTrailingZeros().toPlainString();
+            percentileValues.put(name, toAmount(aggregate.percentiles()[p]));
+        }
+        return AmountStatisticsDto.builder()
+                .count(count)
+                .sum(count == 0 ? null : toAmount(aggregate.sum()))
+                .average(count == 0 ? null : BigDecimal.valueOf(aggregate.sum())
+                        .divide(BigDecimal.valueOf(count), 0, RoundingMode.HALF_UP)
+                        .movePointLeft(2))
+                .min(toAmount(aggregate.min()))
+                .max(toAmount(aggregate.max()))
+                .percentiles(percentileValues)
+                .build();
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return cents == PolicyColumns.NULL ? null : BigDecimal.valueOf(cents, 2);
+    }
+}
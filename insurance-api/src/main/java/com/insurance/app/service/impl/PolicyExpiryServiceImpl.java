@@ -0,0 +1,109 @@
+package com.insurance.app.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.model.InsurancePolicy;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.service.PolicyExpiryService;
+import com.insurance.app.util.Constants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Implementation of PolicyExpiryService
+ * Each batch is its own short transaction: lock up to batchSize due rows by primary key
+ * (skipping rows a user is editing, they are picked up next sweep), flip them with one
+ * UPDATE ... WHERE id IN, and publish an update event per policy for the read models
+ */
+@Service
+public class PolicyExpiryServiceImpl implements PolicyExpiryService {
+
+    private final InsurancePolicyRepository policyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    private final Counter expiredCounter;
+    private final Counter batchCounter;
+    private final Timer sweepTimer;
+
+    @Autowired
+    public PolicyExpiryServiceImpl(InsurancePolicyRepository policyRepository, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+            @Value("${app.expiry.batch-size:500}") int batchSize) {
+        this.policyRepository = policyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.expiredCounter = Counter.builder("policy.expiry.expired")
+                .description("Policies moved to EXPIRED by the expiry sweep")
+                .register(meterRegistry);
+        this.batchCounter = Counter.builder("policy.expiry.batches")
+                .description("Batches committed by the expiry sweep")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("policy.expiry.sweep")
+                .description("Duration of a full expiry sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sweep on startup so a restart never serves stale statuses, then on the configured schedule
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.expiry.cron:0 5 * * * *}")
+    public void sweep() {
+        sweepTimer.record(this::expireDuePolicies);
+    }
+
+    @Override
+    public int expireDuePolicies() {
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        int expired;
+        do {
+            expired = transactionTemplate.execute(status -> expireBatch(today));
+            total += expired;
+        } while (expired == batchSize);
+        return total;
+    }
+
+    /**
+     * Expire one batch inside the caller's transaction
+     */
+    private int expireBatch(LocalDate today) {
+        List<InsurancePolicy> due = policyRepository.findDueForExpiry(
+                Constants.POLICY_STATUS_ACTIVE, today, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = due.stream().map(InsurancePolicy::getId).toList();
+        policyRepository.updateStatus(ids, Constants.POLICY_STATUS_EXPIRED, LocalDateTime.now());
+
+        for (InsurancePolicy policy : due) {
+            PolicySnapshot before = PolicySnapshot.of(policy);
+            PolicySnapshot after = before.toBuilder().status(Constants.POLICY_STATUS_EXPIRED).build();
+            eventPublisher.publishEvent(PolicyChangedEvent.updated(before, after));
+        }
+
+        expiredCounter.increment(due.size());
+        batchCounter.increment();
+        return due.size();
+    }
+}
@@ -0,0 +1,371 @@
+package com.insurance.app.service.impl;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyImportErrorDto;
+import com.insurance.app.dto.PolicyImportResultDto;
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.service.PolicyImportService;
+import com.insurance.app.util.Constants;
+
+/**
+ * Implementation of PolicyImportService
+ * Rows are parsed one at a time and written in chunks of Constants.IMPORT_BATCH_SIZE, each chunk
+ * resolving its vehicles and policy numbers with one query apiece and inserting with a single
+ * JDBC batch in its own transaction. A chunk that fails in the database is retried row by row
+ * so the report can name the offending rows.
+ */
+@Service
+public class PolicyImportServiceImpl implements PolicyImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO insurance_policies (policy_number, provider, vehicle_id, "
+            + "start_date, end_date, premium_amount, coverage_type, deductible_amount, liability_coverage_amount, "
+            + "comprehensive_coverage_amount, collision_coverage_amount, status, notes, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InsurancePolicyRepository policyRepository;
+    private final VehicleRepository vehicleRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public PolicyImportServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            InsurancePolicyRepository policyRepository, VehicleRepository vehicleRepository,
+            ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.policyRepository = policyRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Import policies, CSV when the content type says so and NDJSON otherwise
+     */
+    @Override
+    public PolicyImportResultDto importPolicies(InputStream content, String contentType) {
+        ImportProgress progress = new ImportProgress();
+        boolean csv = contentType != null && contentType.startsWith(Constants.MEDIA_TYPE_CSV);
+
+        try (RowReader rows = csv ? new CsvRowReader(content) : new NdjsonRowReader(content)) {
+            List<ImportRow> chunk = new ArrayList<>(Constants.IMPORT_BATCH_SIZE);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                progress.totalRows++;
+                String error = row.error() != null ? row.error() : validate(row.policy(), progress);
+                if (error != null) {
+                    progress.fail(row, error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == Constants.IMPORT_BATCH_SIZE) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, progress);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import body", e);
+        }
+        // Database checks report a chunk at a time, after the parse errors of later rows
+        progress.errors.sort(Comparator.comparingLong(PolicyImportErrorDto::getRow));
+
+        return PolicyImportResultDto.builder()
+                .totalRows(progress.totalRows)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .build();
+    }
+
+    /**
+     * Checks that need no database access, returns the error message or null
+     */
+    private String validate(InsurancePolicyDto policy, ImportProgress progress) {
+        String missing = policy.getPolicyNumber() == null || policy.getPolicyNumber().isBlank() ? "policyNumber"
+                : policy.getProvider() == null || policy.getProvider().isBlank() ? "provider"
+                : policy.getVehicleId() == null ? "vehicleId"
+                : policy.getStartDate() == null ? "startDate"
+                : policy.getEndDate() == null ? "endDate"
+                : policy.getPremiumAmount() == null ? "premiumAmount"
+                : policy.getCoverageType() == null || policy.getCoverageType().isBlank() ? "coverageType"
+                : null;
+        if (missing != null) {
+            return Constants.ERROR_MISSING_FIELD + missing;
+        }
+        if (policy.getEndDate().isBefore(policy.getStartDate())) {
+            return Constants.ERROR_INVALID_DATE_RANGE;
+        }
+        if (!progress.policyNumbers.add(policy.getPolicyNumber())) {
+            return Constants.ERROR_DUPLICATE_POLICY_NUMBER + policy.getPolicyNumber();
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the vehicles and policy numbers of a chunk in bulk, then insert the rows that pass
+     */
+    private void writeChunk(List<ImportRow> chunk, ImportProgress progress) {
+        Set<Long> unknownVehicles = new HashSet<>();
+        Set<String> policyNumbers = new HashSet<>();
+        for (ImportRow row : chunk) {
+            Long vehicleId = row.policy().getVehicleId();
+            if (!progress.existingVehicles.contains(vehicleId) && !progress.missingVehicles.contains(vehicleId)) {
+                unknownVehicles.add(vehicleId);
+            }
+            policyNumbers.add(row.policy().getPolicyNumber());
+        }
+        if (!unknownVehicles.isEmpty()) {
+            List<Long> existing = vehicleRepository.findExistingIds(unknownVehicles);
+            progress.existingVehicles.addAll(existing);
+            unknownVehicles.removeAll(existing);
+            progress.missingVehicles.addAll(unknownVehicles);
+        }
+        Set<String> takenNumbers = new HashSet<>(policyRepository.findExistingPolicyNumbers(policyNumbers));
+
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            InsurancePolicyDto policy = row.policy();
+            if (progress.missingVehicles.contains(policy.getVehicleId())) {
+                progress.fail(row, Constants.ERROR_VEHICLE_NOT_FOUND + policy.getVehicleId());
+            } else if (takenNumbers.contains(policy.getPolicyNumber())) {
+                progress.fail(row, Constants.ERROR_DUPLICATE_POLICY_NUMBER + policy.getPolicyNumber());
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(valid);
+            progress.imported += valid.size();
+        } catch (DataAccessException e) {
+            // Something slipped past validation (a concurrent insert, a column limit), find the rows
+            for (ImportRow row : valid) {
+                try {
+                    insert(List.of(row));
+                    progress.imported++;
+                } catch (DataAccessException rowFailure) {
+                    progress.fail(row, rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert rows with one JDBC batch in a new transaction and publish a created event per row
+     * Events are delivered to the read models once the transaction commits
+     */
+    private void insert(List<ImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            bind(statement, rows.get(i).policy(), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < rows.size(); i++) {
+                InsurancePolicyDto policy = rows.get(i).policy();
+                Number id = (Number) keys.get(i).values().iterator().next();
+                eventPublisher.publishEvent(PolicyChangedEvent.created(PolicySnapshot.builder()
+                        .id(id.longValue())
+                        .policyNumber(policy.getPolicyNumber())
+                        .provider(policy.getProvider())
+                        .vehicleId(policy.getVehicleId())
+                        .coverageType(policy.getCoverageType())
+                        .status(Constants.POLICY_STATUS_ACTIVE)
+                        .startDate(policy.getStartDate())
+                        .endDate(policy.getEndDate())
+                        .build()));
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement statement, InsurancePolicyDto policy, Timestamp now) throws SQLException {
+        statement.setString(1, policy.getPolicyNumber());
+        statement.setString(2, policy.getProvider());
+        statement.setLong(3, policy.getVehicleId());
+        statement.setObject(4, policy.getStartDate());
+        statement.setObject(5, policy.getEndDate());
+        statement.setBigDecimal(6, policy.getPremiumAmount());
+        statement.setString(7, policy.getCoverageType());
+        statement.setObject(8, policy.getDeductibleAmount(), Types.DECIMAL);
+        statement.setObject(9, policy.getLiabilityCoverageAmount(), Types.DECIMAL);
+        statement.setObject(10, policy.getComprehensiveCoverageAmount(), Types.DECIMAL);
+        statement.setObject(11, policy.getCollisionCoverageAmount(), Types.DECIMAL);
+        statement.setString(12, Constants.POLICY_STATUS_ACTIVE);
+        statement.setString(13, policy.getNotes());
+        statement.setTimestamp(14, now);
+        statement.setTimestamp(15, now);
+    }
+
+    /**
+     * A parsed row, or the reason it could not be parsed
+     */
+    private record ImportRow(long row, InsurancePolicyDto policy, String error) {
+    }
+
+    /**
+     * Counters and lookups that live for one import
+     */
+    private static final class ImportProgress {
+
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<PolicyImportErrorDto> errors = new ArrayList<>();
+
+        private final Set<String> policyNumbers = new HashSet<>();
+        private final Set<Long> existingVehicles = new HashSet<>();
+        private final Set<Long> missingVehicles = new HashSet<>();
+
+        void fail(ImportRow row, String message) {
+            failed++;
+            if (errors.size() < Constants.MAX_IMPORT_ERRORS) {
+                errors.add(PolicyImportErrorDto.builder()
+                        .row(row.row())
+                        .policyNumber(row.policy() != null ? row.policy().getPolicyNumber() : null)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Pull parser over the request body, returns null once the body is exhausted
+     */
+    private interface RowReader extends Closeable {
+
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * CSV with a header row naming InsurancePolicyDto properties, empty cells are treated as absent
+     */
+    private final class CsvRowReader implements RowReader {
+
+        private final MappingIterator<Map<String, String>> records;
+        private long row;
+
+        CsvRowReader(InputStream content) throws IOException {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            this.records = new CsvMapper().readerForMapOf(String.class).with(schema).readValues(content);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (!records.hasNextValue()) {
+                return null;
+            }
+            row++;
+            Map<String, String> record;
+            try {
+                record = records.nextValue();
+            } catch (JsonProcessingException e) {
+                return new ImportRow(row, null, Constants.ERROR_MALFORMED_ROW + e.getOriginalMessage());
+            }
+            record.values().removeIf(String::isEmpty);
+            try {
+                return new ImportRow(row, objectMapper.convertValue(record, InsurancePolicyDto.class), null);
+            } catch (IllegalArgumentException e) {
+                return new ImportRow(row, null, Constants.ERROR_MALFORMED_ROW + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+        }
+    }
+
+    /**
+     * One JSON policy object per line, blank lines are skipped
+     */
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private long row;
+
+        NdjsonRowReader(InputStream content) {
+            this.reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            row++;
+            try {
+                return new ImportRow(row, objectMapper.readValue(line, InsurancePolicyDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(row, null, Constants.ERROR_MALFORMED_ROW + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
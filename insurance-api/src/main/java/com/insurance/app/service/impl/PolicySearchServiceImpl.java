@@ -0,0 +1,242 @@
+package com.insurance.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.event.VehicleChangedEvent;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.repository.projection.PolicySearchView;
+import com.insurance.app.repository.projection.VehicleSearchView;
+import com.insurance.app.routing.ReadFromPrimary;
+import com.insurance.app.search.SearchField;
+import com.insurance.app.search.TrigramIndex;
+import com.insurance.app.service.PolicySearchService;
+
+/**
+ * Implementation of PolicySearchService
+ * Indexes one document per policy holding its own fields plus those of its vehicle,
+ * so a vehicle change re-indexes every policy that references the vehicle
+ */
+@Service
+public class PolicySearchServiceImpl implements PolicySearchService {
+
+    private final InsurancePolicyRepository policyRepository;
+    private final VehicleRepository vehicleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex index = new TrigramIndex();
+
+    // Vehicle field values by vehicle id, written under the write lock, read without it
+    private final Map<Long, String[]> vehicles = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> policiesByVehicle = new HashMap<>();
+    // Changes committed while a rebuild runs, replayed onto the rebuilt index, null otherwise
+    private List<Runnable> pending;
+
+    @Autowired
+    public PolicySearchServiceImpl(InsurancePolicyRepository policyRepository, VehicleRepository vehicleRepository) {
+        this.policyRepository = policyRepository;
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    /**
+     * Search the given fields, or every field when none are given
+     */
+    @Override
+    public List<Long> search(String query, SearchField... fields) {
+        int mask = fields.length == 0 ? SearchField.allFields() : 0;
+        for (SearchField field : fields) {
+            mask |= field.mask();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(query, mask);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from two projection queries, run once the application is ready
+     * Read from the primary, change events only keep the index current if it starts from every committed write
+     * Changes committed while the queries run may be missing from their rows, so they are recorded and
+     * replayed onto the rebuilt index, like the expiry calendar rebuild
+     */
+    @Override
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<VehicleSearchView> vehicleViews;
+        List<PolicySearchView> policyViews;
+        try {
+            vehicleViews = vehicleRepository.findAllSearchViews();
+            policyViews = policyRepository.findAllSearchViews();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            vehicles.clear();
+            policiesByVehicle.clear();
+
+            for (VehicleSearchView vehicle : vehicleViews) {
+                vehicles.put(vehicle.getId(), vehicleValues(vehicle));
+            }
+            for (PolicySearchView policy : policyViews) {
+                put(policy.getId(), policy.getPolicyNumber(), policy.getProvider(), policy.getVehicleId(),
+                        vehicles.get(policy.getVehicleId()));
+            }
+            pending.forEach(Runnable::run);
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed policy change to the index
+     */
+    @TransactionalEventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        PolicySnapshot after = event.getAfter();
+        String[] vehicle = after == null ? null : vehicle(after.getVehicleId());
+        apply(() -> applyPolicyChange(event.getBefore(), after, vehicle));
+    }
+
+    /**
+     * Re-index every policy of a committed vehicle change
+     */
+    @TransactionalEventListener
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        Long vehicleId = event.getVehicleId();
+        String[] vehicle = vehicleRepository.findSearchViewById(vehicleId)
+                .map(PolicySearchServiceImpl::vehicleValues)
+                .orElse(null);
+        apply(() -> applyVehicleChange(vehicleId, vehicle));
+    }
+
+    /**
+     * Run a change under the write lock, and record it for replay while a rebuild runs
+     * Replaying a change the rebuilt index already holds is harmless, each one sets the final state of its documents
+     */
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Caller holds the write lock
+     */
+    private void applyPolicyChange(PolicySnapshot before, PolicySnapshot after, String[] vehicle) {
+        if (before != null) {
+            index.remove(before.getId());
+            Set<Long> policies = policiesByVehicle.get(before.getVehicleId());
+            if (policies != null && policies.remove(before.getId()) && policies.isEmpty()) {
+                policiesByVehicle.remove(before.getVehicleId());
+            }
+        }
+        if (after != null) {
+            put(after.getId(), after.getPolicyNumber(), after.getProvider(), after.getVehicleId(), vehicle);
+        }
+    }
+
+    /**
+     * Caller holds the write lock
+     */
+    private void applyVehicleChange(Long vehicleId, String[] vehicle) {
+        if (vehicle == null) {
+            // Deleted, the foreign key guarantees no policy still references it
+            vehicles.remove(vehicleId);
+            return;
+        }
+        vehicles.put(vehicleId, vehicle);
+        for (Long policyId : policiesByVehicle.getOrDefault(vehicleId, Set.of())) {
+            String[] current = index.get(policyId);
+            if (current != null) {
+                put(policyId, current[SearchField.POLICY_NUMBER.ordinal()],
+                        current[SearchField.PROVIDER.ordinal()], vehicleId, vehicle);
+            }
+        }
+    }
+
+    /**
+     * Vehicle field values from the cache, falling back to the database for vehicles created after the rebuild
+     */
+    private String[] vehicle(Long vehicleId) {
+        String[] cached = vehicles.get(vehicleId);
+        if (cached != null) {
+            return cached;
+        }
+        return vehicleRepository.findSearchViewById(vehicleId)
+                .map(PolicySearchServiceImpl::vehicleValues)
+                .orElse(null);
+    }
+
+    /**
+     * Index a policy document, caller holds the write lock
+     */
+    private void put(Long policyId, String policyNumber, String provider, Long vehicleId, String[] vehicle) {
+        String[] values = vehicle != null ? vehicle.clone() : new String[SearchField.values().length];
+        values[SearchField.POLICY_NUMBER.ordinal()] = policyNumber;
+        values[SearchField.PROVIDER.ordinal()] = provider;
+        index.put(policyId, values);
+
+        if (vehicle != null) {
+            vehicles.putIfAbsent(vehicleId, vehicle);
+        }
+        policiesByVehicle.computeIfAbsent(vehicleId, id -> new HashSet<>()).add(policyId);
+    }
+
+    /**
+     * Field values array with only the vehicle fields filled in
+     */
+    private static String[] vehicleValues(VehicleSearchView vehicle) {
+        String[] values = new String[SearchField.values().length];
+        values[SearchField.MAKE.ordinal()] = vehicle.getMake();
+        values[SearchField.MODEL.ordinal()] = vehicle.getModel();
+        values[SearchField.REGISTRATION.ordinal()] = vehicle.getRegistrationNumber();
+        values[SearchField.VIN.ordinal()] = vehicle.getVin();
+        values[SearchField.OWNER_NAME.ordinal()] = vehicle.getOwnerFirstName() + " " + vehicle.getOwnerLastName();
+        return values;
+    }
+}
@@ -0,0 +1,187 @@
+package com.insurance.app.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.app.dto.PolicyStatisticsDto;
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.projection.PolicyStatisticsView;
+import com.insurance.app.routing.ReadFromPrimary;
+import com.insurance.app.service.PolicyStatisticsService;
+import com.insurance.app.util.Constants;
+
+/**
+ * Implementation of PolicyStatisticsService
+ * Counts by status (kept current by the expiry sweep) and a per end-date histogram of
+ * active policies for the expiring window, every policy change adjusts them in place
+ * The counted state of each policy is kept as well, so a change sets a policy's final state
+ * rather than adding a delta, and applying a change the counters already hold does nothing.
+ */
+@Service
+public class PolicyStatisticsServiceImpl implements PolicyStatisticsService {
+
+    private final InsurancePolicyRepository policyRepository;
+
+    // Active policies keyed by end date
+    private final NavigableMap<LocalDate, Long> activeByEndDate = new TreeMap<>();
+
+    private final Map<String, Long> byStatus = new HashMap<>();
+    private final Map<String, Long> byProvider = new HashMap<>();
+    private final Map<String, Long> byCoverageType = new HashMap<>();
+
+    private long total;
+
+    // Counted columns of every policy by id
+    private Map<Long, Counted> policies = new HashMap<>();
+    // Changes committed while a recompute runs, replayed onto the recomputed counters, null otherwise
+    private List<PolicyChangedEvent> pending;
+
+    @Autowired
+    public PolicyStatisticsServiceImpl(InsurancePolicyRepository policyRepository) {
+        this.policyRepository = policyRepository;
+    }
+
+    /**
+     * Get current policy counts
+     */
+    @Override
+    public synchronized PolicyStatisticsDto getStatistics(int expiringWithinDays) {
+        if (expiringWithinDays < 0) {
+            throw new RuntimeException("Expiring window cannot be negative");
+        }
+
+        LocalDate today = LocalDate.now();
+        long expiringSoon = sum(activeByEndDate.subMap(today, true, today.plusDays(expiringWithinDays), true));
+
+        return PolicyStatisticsDto.builder()
+                .total(total)
+                .active(byStatus.getOrDefault(Constants.POLICY_STATUS_ACTIVE, 0L))
+                .expired(byStatus.getOrDefault(Constants.POLICY_STATUS_EXPIRED, 0L))
+                .expiringSoon(expiringSoon)
+                .expiringWithinDays(expiringWithinDays)
+                .asOf(today)
+                .byProvider(new HashMap<>(byProvider))
+                .byCoverageType(new HashMap<>(byCoverageType))
+                .build();
+    }
+
+    /**
+     * Rebuild all counters from one streamed projection query, run once the application is ready
+     * Read from the primary like the search index rebuild
+     * Changes committed while the query runs may or may not be in its rows, so they are recorded and
+     * replayed onto the new counters, which only moves the policies the rows hold in an older state
+     */
+    @Override
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void recompute() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        Map<Long, Counted> loaded = new HashMap<>();
+        // Rows repeat a handful of providers, statuses and dates, each is held once
+        Map<Object, Object> shared = new HashMap<>();
+        try (Stream<PolicyStatisticsView> views = policyRepository.streamStatisticsViews()) {
+            views.forEach(view -> loaded.put(view.getId(), new Counted(
+                    share(shared, view.getStatus()), share(shared, view.getProvider()),
+                    share(shared, view.getCoverageType()), share(shared, view.getEndDate()))));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            activeByEndDate.clear();
+            byStatus.clear();
+            byProvider.clear();
+            byCoverageType.clear();
+            total = 0;
+            policies = loaded;
+            policies.values().forEach(policy -> apply(policy, 1));
+
+            pending.forEach(this::set);
+            pending = null;
+        }
+    }
+
+    /**
+     * Apply a committed policy change to the counters
+     */
+    @TransactionalEventListener
+    public synchronized void onPolicyChanged(PolicyChangedEvent event) {
+        set(event);
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Replace the counted state of the changed policy with its state after the change
+     */
+    private void set(PolicyChangedEvent event) {
+        PolicySnapshot after = event.getAfter();
+        Long id = after != null ? after.getId() : event.getBefore().getId();
+        Counted current = after != null
+                ? new Counted(after.getStatus(), after.getProvider(), after.getCoverageType(), after.getEndDate())
+                : null;
+        Counted previous = current != null ? policies.put(id, current) : policies.remove(id);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (current != null) {
+            apply(current, 1);
+        }
+    }
+
+    /**
+     * Add (delta = 1) or remove (delta = -1) a single policy from every counter
+     */
+    private void apply(Counted policy, long delta) {
+        total += delta;
+        adjust(byStatus, policy.status(), delta);
+        adjust(byProvider, policy.provider(), delta);
+        adjust(byCoverageType, policy.coverageType(), delta);
+        if (Constants.POLICY_STATUS_ACTIVE.equals(policy.status())) {
+            adjust(activeByEndDate, policy.endDate(), delta);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T share(Map<Object, Object> shared, T value) {
+        return value == null ? null : (T) shared.computeIfAbsent(value, v -> v);
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+
+    private static long sum(Map<LocalDate, Long> counts) {
+        long result = 0;
+        for (long count : counts.values()) {
+            result += count;
+        }
+        return result;
+    }
+
+    private record Counted(String status, String provider, String coverageType, LocalDate endDate) {
+    }
+}
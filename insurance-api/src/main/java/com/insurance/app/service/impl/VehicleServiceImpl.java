@@ -0,0 +1,261 @@
+package com.insurance.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.insurance.app.dto.FleetVehicleDto;
+import com.insurance.app.dto.VehicleDto;
+import com.insurance.app.event.VehicleChangedEvent;
+import com.insurance.app.model.Vehicle;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.repository.VehicleSortField;
+import com.insurance.app.routing.ReadFromPrimary;
+import com.insurance.app.service.VehicleService;
+import com.insurance.app.util.Constants;
+
+/**
+ * Implementation of VehicleService
+ * Every change publishes a VehicleChangedEvent, which evicts the vehicle, policy and fleet caches
+ * and re-indexes the vehicle's policies once the transaction commits
+ */
+@Service
+public class VehicleServiceImpl implements VehicleService {
+
+    private final VehicleRepository vehicleRepository;
+    private final InsurancePolicyRepository policyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    public VehicleServiceImpl(VehicleRepository vehicleRepository, InsurancePolicyRepository policyRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.vehicleRepository = vehicleRepository;
+        this.policyRepository = policyRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Create a new vehicle
+     */
+    @Override
+    @Transactional
+    public VehicleDto createVehicle(VehicleDto vehicleDto) {
+        validate(vehicleDto);
+        checkVinAvailable(vehicleDto.getVin(), null);
+        
+        Vehicle vehicle = new Vehicle();
+        copyFields(vehicleDto, vehicle);
+        vehicle.setCreatedAt(LocalDateTime.now());
+        vehicle.setUpdatedAt(LocalDateTime.now());
+        
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(savedVehicle.getId()));
+        return mapToDto(savedVehicle);
+    }
+
+    /**
+     * Get a vehicle by id, served from the vehicle cache, which is filled from the primary
+     */
+    @Override
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    public VehicleDto getVehicleById(Long id) {
+        return vehicleRepository.findById(id)
+                .map(this::mapToDto)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_VEHICLE_NOT_FOUND + id));
+    }
+
+    /**
+     * Get a vehicle by VIN
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VehicleDto getVehicleByVin(String vin) {
+        return vehicleRepository.findByVin(vin)
+                .map(this::mapToDto)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_VEHICLE_VIN_NOT_FOUND + vin));
+    }
+
+    /**
+     * Get the vehicles registered under a registration number, oldest first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<VehicleDto> getVehiclesByRegistrationNumber(String registrationNumber) {
+        return vehicleRepository.findByRegistrationNumberOrderById(registrationNumber).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get all vehicles with pagination
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VehicleDto> getAllVehicles(int pageNo, int pageSize, String sortBy, String sortDir) {
+        return vehicleRepository.findAll(pageable(pageNo, pageSize, sortBy, sortDir)).map(this::mapToDto);
+    }
+
+    /**
+     * Get the vehicles of an owner with pagination
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VehicleDto> getVehiclesByOwner(String ownerLastName, String ownerFirstName,
+            int pageNo, int pageSize, String sortBy, String sortDir) {
+        if (ownerLastName == null || ownerLastName.isBlank()) {
+            throw new RuntimeException(Constants.ERROR_MISSING_PARAMETER + "lastName");
+        }
+        
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        Page<Vehicle> vehicles = ownerFirstName == null || ownerFirstName.isBlank()
+                ? vehicleRepository.findByOwnerLastName(ownerLastName, pageable)
+                : vehicleRepository.findByOwnerLastNameAndOwnerFirstName(ownerLastName, ownerFirstName, pageable);
+        return vehicles.map(this::mapToDto);
+    }
+
+    /**
+     * Get vehicles with their current active policy, one join query per page
+     * Cached until any vehicle or policy changes, see CacheEvictionListener, so read from the primary
+     */
+    @Override
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Constants.FLEET_CACHE,
+               key = "{#ownerLastName, #pageNo, #pageSize, #sortBy, #sortDir.toLowerCase()}")
+    public Page<FleetVehicleDto> getFleet(String ownerLastName, int pageNo, int pageSize, String sortBy, String sortDir) {
+        Pageable pageable = pageable(pageNo, pageSize, sortBy, sortDir);
+        if (ownerLastName == null || ownerLastName.isBlank()) {
+            return vehicleRepository.findFleet(Constants.POLICY_STATUS_ACTIVE, pageable);
+        }
+        return vehicleRepository.findFleetByOwnerLastName(Constants.POLICY_STATUS_ACTIVE, ownerLastName, pageable);
+    }
+
+    /**
+     * Update an existing vehicle
+     */
+    @Override
+    @Transactional
+    public VehicleDto updateVehicle(Long id, VehicleDto vehicleDto) {
+        // Load past the cache, cached vehicles are detached copies shared between requests
+        Vehicle vehicle = vehicleRepository.findForUpdateById(id)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_VEHICLE_NOT_FOUND + id));
+        validate(vehicleDto);
+        checkVinAvailable(vehicleDto.getVin(), id);
+        
+        copyFields(vehicleDto, vehicle);
+        vehicle.setUpdatedAt(LocalDateTime.now());
+        
+        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(id));
+        return mapToDto(updatedVehicle);
+    }
+
+    /**
+     * Delete a vehicle, refused while any policy still references it
+     */
+    @Override
+    @Transactional
+    public void deleteVehicle(Long id) {
+        Vehicle vehicle = vehicleRepository.findForUpdateById(id)
+                .orElseThrow(() -> new RuntimeException(Constants.ERROR_VEHICLE_NOT_FOUND + id));
+        if (policyRepository.existsByVehicleId(id)) {
+            throw new RuntimeException(Constants.ERROR_VEHICLE_HAS_POLICIES + id);
+        }
+        
+        vehicleRepository.delete(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(id));
+    }
+    
+    /**
+     * Page request sorted on a whitelisted field, unknown sortBy values are rejected
+     */
+    private static Pageable pageable(int pageNo, int pageSize, String sortBy, String sortDir) {
+        String path = VehicleSortField.fromApiName(sortBy).getPath();
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+                Sort.by(path).ascending() : Sort.by(path).descending();
+        return PageRequest.of(pageNo, pageSize, sort);
+    }
+    
+    /**
+     * Check the columns the schema requires
+     */
+    private static void validate(VehicleDto dto) {
+        requireField(dto.getMake(), "make");
+        requireField(dto.getModel(), "model");
+        requireField(dto.getRegistrationNumber(), "registrationNumber");
+        requireField(dto.getOwnerFirstName(), "ownerFirstName");
+        requireField(dto.getOwnerLastName(), "ownerLastName");
+        if (dto.getYear() == null) {
+            throw new RuntimeException(Constants.ERROR_MISSING_FIELD + "year");
+        }
+    }
+    
+    private static void requireField(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new RuntimeException(Constants.ERROR_MISSING_FIELD + name);
+        }
+    }
+    
+    /**
+     * Reject a VIN already used by another vehicle than the one with the given id
+     */
+    private void checkVinAvailable(String vin, Long id) {
+        if (vin == null || vin.isBlank()) {
+            return;
+        }
+        vehicleRepository.findByVin(vin)
+                .filter(existing -> !existing.getId().equals(id))
+                .ifPresent(existing -> {
+                    throw new RuntimeException(Constants.ERROR_DUPLICATE_VIN + vin);
+                });
+    }
+    
+    private static void copyFields(VehicleDto dto, Vehicle vehicle) {
+        vehicle.setMake(dto.getMake());
+        vehicle.setModel(dto.getModel());
+        vehicle.setYear(dto.getYear());
+        vehicle.setVin(dto.getVin() == null || dto.getVin().isBlank() ? null : dto.getVin());
+        vehicle.setRegistrationNumber(dto.getRegistrationNumber());
+        vehicle.setColor(dto.getColor());
+        vehicle.setOwnerFirstName(dto.getOwnerFirstName());
+        vehicle.setOwnerLastName(dto.getOwnerLastName());
+        vehicle.setOwnerEmail(dto.getOwnerEmail());
+        vehicle.setOwnerPhone(dto.getOwnerPhone());
+        vehicle.setOwnerAddress(dto.getOwnerAddress());
+        vehicle.setOwnerLicenseNumber(dto.getOwnerLicenseNumber());
+        vehicle.setOwnerDateOfBirth(dto.getOwnerDateOfBirth());
+    }
+    
+    private VehicleDto mapToDto(Vehicle vehicle) {
+        return VehicleDto.builder()
+                .id(vehicle.getId())
+                .make(vehicle.getMake())
+                .model(vehicle.getModel())
+                .year(vehicle.getYear())
+                .vin(vehicle.getVin())
+                .registrationNumber(vehicle.getRegistrationNumber())
+                .color(vehicle.getColor())
+                .ownerFirstName(vehicle.getOwnerFirstName())
+                .ownerLastName(vehicle.getOwnerLastName())
+                .ownerEmail(vehicle.getOwnerEmail())
+                .ownerPhone(vehicle.getOwnerPhone())
+                .ownerAddress(vehicle.getOwnerAddress())
+                .ownerLicenseNumber(vehicle.getOwnerLicenseNumber())
+                .ownerDateOfBirth(vehicle.getOwnerDateOfBirth())
+                .createdAt(vehicle.getCreatedAt())
+                .updatedAt(vehicle.getUpdatedAt())
+                .build();
+    }
+}
@@ -16,6 +16,40 @@ public class Constants {
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEFAULT_SORT_DIRECTION = "asc";
+    public static final int MAX_WINDOW_LIMIT = 1000;
+    public static final String SORT_BY_RELEVANCE = "relevance";
+    // Most ids bound into one IN list (1024 with IN clause padding), far below MySQL's 65,535 placeholders
+    public static final int MAX_IN_LIST_SIZE = 1000;
+    
+    // Bulk import
+    public static final String MEDIA_TYPE_CSV = "text/csv";
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int MAX_IMPORT_ERRORS = 1000;
+    
+    // Batch get, ids and policy numbers together
+    public static final int MAX_BATCH_GET_KEYS = 500;
+    
+    // Export
+    public static final String EXPORT_FORMAT_NDJSON = "ndjson";
+    public static final String EXPORT_FORMAT_CSV = "csv";
+    public static final int EXPORT_FETCH_SIZE = 1000;
+    
+    // Reactive read API, search matches are hydrated from the database this many ids at a time
+    public static final int REACTIVE_SEARCH_BATCH_SIZE = 500;
+    
+    // Statistics defaults
+    public static final String DEFAULT_EXPIRING_WITHIN_DAYS = "30";
+    
+    // Analytics, the snapshot is rebuilt on this schedule once policies or vehicles have changed
+    public static final String DEFAULT_ANALYTICS_PERCENTILES = "50,90,99";
+    public static final String ANALYTICS_REFRESH_INTERVAL = "${app.analytics.refresh-interval:PT1M}";
+    
+    // Cache names, sizes and time to live are set by spring.cache.caffeine.spec
+    public static final String POLICY_CACHE = "policies";
+    public static final String POLICY_BY_NUMBER_CACHE = "policiesByNumber";
+    public static final String VEHICLE_CACHE = "vehicles";
+    public static final String FLEET_CACHE = "fleet";
     
     // Insurance policy status
     public static final String POLICY_STATUS_ACTIVE = "ACTIVE";
@@ -28,6 +62,31 @@ public class Constants {
     // Error messages
     public static final String ERROR_POLICY_NOT_FOUND = "Insurance policy not found with id: ";
     public static final String ERROR_VEHICLE_NOT_FOUND = "Vehicle not found with id: ";
+    public static final String ERROR_VEHICLE_VIN_NOT_FOUND = "Vehicle not found with VIN: ";
+    public static final String ERROR_DUPLICATE_VIN = "Vehicle VIN already exists: ";
+    public static final String ERROR_VEHICLE_HAS_POLICIES = "Cannot delete a vehicle that still has policies, id: ";
+    public static final String ERROR_STALE_POLICY = "Insurance policy was changed since it was read, id: ";
     public static final String ERROR_EXPIRED_POLICY = "Cannot update expired or cancelled policy";
     public static final String ERROR_INVALID_DATE_RANGE = "End date must be after start date";
+    public static final String ERROR_IMAGE_NOT_FOUND = "Vehicle image not found: ";
+    public static final String ERROR_INVALID_IMAGE = "Vehicle image is not valid base64 data";
+    public static final String ERROR_UNSUPPORTED_IMAGE_TYPE = "Vehicle image must be a raster image type, got: ";
+    public static final String ERROR_INVALID_LIMIT = "Limit must be between 1 and " + MAX_WINDOW_LIMIT;
+    public static final String ERROR_CURSOR_MISMATCH = "Cursor was issued for a different sort order";
+    public static final String ERROR_UNSUPPORTED_SORT_FIELD = "Unsupported sort field: ";
+    public static final String ERROR_MISSING_FIELD = "Missing required field: ";
+    public static final String ERROR_DUPLICATE_POLICY_NUMBER = "Policy number already exists: ";
+    public static final String ERROR_MALFORMED_ROW = "Malformed row: ";
+    public static final String ERROR_DATABASE_BUSY = "Database is busy, no connection permit within ";
+    public static final String ERROR_BATCH_GET_SIZE = "Batch get accepts between 1 and " + MAX_BATCH_GET_KEYS + " ids and policy numbers";
+    public static final String ERROR_INVALID_PERCENTILE = "Percentiles must be between 0 and 100";
+    public static final String ERROR_MISSING_PARAMETER = "Missing required parameter: ";
+    public static final String ERROR_INVALID_STREAM_LIMIT = "Limit must be positive";
+    public static final String ERROR_UNSUPPORTED_EXPORT_FORMAT = "Export format must be ndjson or csv";
+    
+    // Vehicle images
+    public static final String DEFAULT_IMAGE_CONTENT_TYPE = "application/octet-stream";
+    
+    // Read replicas, clients holding the cookie read from the primary until it expires
+    public static final String REPLICA_STICKINESS_COOKIE = "replica-sticky";
 } 
\ No newline at end of file
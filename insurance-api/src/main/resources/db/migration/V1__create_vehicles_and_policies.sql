@@ -0,0 +1,43 @@
+-- Create vehicles table with owner information
+CREATE TABLE vehicles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    vehicle_make VARCHAR(50) NOT NULL,
+    vehicle_model VARCHAR(50) NOT NULL,
+    vehicle_year INT NOT NULL,
+    vehicle_vin VARCHAR(17),
+    vehicle_registration VARCHAR(20) NOT NULL,
+    vehicle_color VARCHAR(30),
+    owner_first_name VARCHAR(50) NOT NULL,
+    owner_last_name VARCHAR(50) NOT NULL,
+    owner_email VARCHAR(100),
+    owner_phone VARCHAR(20),
+    owner_address VARCHAR(255),
+    owner_license_number VARCHAR(20),
+    owner_dob DATE,
+    insurance_policy_number VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Create insurance policies table
+CREATE TABLE insurance_policies (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    policy_number VARCHAR(50) NOT NULL UNIQUE,
+    provider VARCHAR(100) NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    premium_amount DECIMAL(10, 2) NOT NULL,
+    coverage_type VARCHAR(50) NOT NULL,
+    deductible_amount DECIMAL(10, 2),
+    liability_coverage_amount DECIMAL(12, 2),
+    comprehensive_coverage_amount DECIMAL(12, 2),
+    collision_coverage_amount DECIMAL(12, 2),
+    status VARCHAR(20) NOT NULL,
+    notes TEXT,
+    vehicle_image_hash VARCHAR(64),
+    vehicle_image_content_type VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_policies_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles(id)
+);
@@ -0,0 +1,20 @@
+-- Indexes backing the InsurancePolicyRepository queries
+
+-- findByStatus, findByEndDateAfterAndStatus (status = ? AND end_date > ?)
+CREATE INDEX idx_policies_status_end_date ON insurance_policies (status, end_date);
+
+-- findByEndDateBetween, findByEndDateBefore
+CREATE INDEX idx_policies_end_date ON insurance_policies (end_date);
+
+-- findByPremiumAmountRange
+CREATE INDEX idx_policies_premium_amount ON insurance_policies (premium_amount);
+
+-- findByVehicle, findByVehicleId ordered by id, also serves the vehicle foreign key
+CREATE INDEX idx_policies_vehicle_id_id ON insurance_policies (vehicle_id, id);
+
+-- Provider grouping for the statistics cache
+CREATE INDEX idx_policies_provider ON insurance_policies (provider);
+
+-- Vehicle lookups by registration and by make/model
+CREATE INDEX idx_vehicles_registration ON vehicles (vehicle_registration);
+CREATE INDEX idx_vehicles_make_model ON vehicles (vehicle_make, vehicle_model);
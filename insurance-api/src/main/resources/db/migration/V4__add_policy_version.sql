@@ -0,0 +1,3 @@
+-- Optimistic lock version of InsurancePolicy (@Version), also the basis of the policy ETags
+-- Existing rows and plain JDBC inserts (bulk import) start at 0
+ALTER TABLE insurance_policies ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
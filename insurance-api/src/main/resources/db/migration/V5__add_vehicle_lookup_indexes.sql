@@ -0,0 +1,10 @@
+-- Indexes backing the VehicleRepository lookups
+
+-- findByVin, a VIN identifies one vehicle (NULLs are allowed more than once)
+CREATE UNIQUE INDEX idx_vehicles_vin ON vehicles (vehicle_vin);
+
+-- findByOwnerLastName(AndOwnerFirstName) ordered by id, the fleet listing of one owner
+CREATE INDEX idx_vehicles_owner_name ON vehicles (owner_last_name, owner_first_name, id);
+
+-- Fleet summary, newest active policy of each vehicle
+CREATE INDEX idx_policies_vehicle_id_status_id ON insurance_policies (vehicle_id, status, id);
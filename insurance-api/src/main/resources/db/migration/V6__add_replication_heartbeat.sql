@@ -0,0 +1,8 @@
+-- Heartbeat row for read replica lag (ReplicaLagMonitor)
+-- The primary stamps it with the current time, a replica is behind by the age of the stamp it has
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
+
+INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, 0);
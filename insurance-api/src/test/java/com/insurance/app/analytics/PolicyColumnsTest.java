@@ -0,0 +1,145 @@
+package com.insurance.app.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Group-by aggregates of the columnar analytics snapshot against hand-computed values
+ */
+class PolicyColumnsTest {
+
+    private static final double[] P50_P95 = { 50, 95 };
+    private static final List<AnalyticsMeasure> PREMIUM = List.of(AnalyticsMeasure.PREMIUM_AMOUNT);
+
+    private PolicyColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = PolicyColumns.builder()
+                .add(dimensions("Geico", "ACTIVE"), premium(30_000L))
+                .add(dimensions("Geico", "ACTIVE"), premium(10_000L))
+                .add(dimensions("Geico", "EXPIRED"), premium(100_000L))
+                .add(dimensions("Geico", "ACTIVE"), premium(null))
+                .add(dimensions("Geico", "ACTIVE"), premium(40_000L))
+                .add(dimensions("Geico", "EXPIRED"), premium(20_000L))
+                .add(dimensions("Allstate", "ACTIVE"), premium(null))
+                .add(dimensions("Allstate", "EXPIRED"), premium(null))
+                .add(dimensions("Progressive", "ACTIVE"), premium(5_000L))
+                .build(LocalDateTime.now());
+    }
+
+    @Test
+    void measuresMatchHandComputedValues() {
+        List<PolicyColumns.GroupAggregate> groups = columns.aggregate(List.of(AnalyticsDimension.PROVIDER),
+                PREMIUM, Map.of(), P50_P95);
+
+        assertThat(groups).extracting(group -> group.key()[0]).containsExactly("Allstate", "Geico", "Progressive");
+        PolicyColumns.GroupAggregate geico = groups.get(1);
+        assertThat(geico.policies()).isEqualTo(6);
+        // 100, 200, 300, 400 and 1000: nearest rank p50 is the 3rd value, p95 the 5th
+        PolicyColumns.MeasureAggregate premium = geico.measures().get(AnalyticsMeasure.PREMIUM_AMOUNT);
+        assertThat(premium.count()).isEqualTo(5);
+        assertThat(premium.sum()).isEqualTo(200_000);
+        assertThat(premium.sum() / premium.count()).isEqualTo(40_000);
+        assertThat(premium.min()).isEqualTo(10_000);
+        assertThat(premium.max()).isEqualTo(100_000);
+        assertThat(premium.percentiles()).containsExactly(30_000, 100_000);
+
+        PolicyColumns.MeasureAggregate progressive = groups.get(2).measures().get(AnalyticsMeasure.PREMIUM_AMOUNT);
+        assertThat(progressive.percentiles()).containsExactly(5_000, 5_000);
+    }
+
+    @Test
+    void groupWithOnlyNullAmountsHasNoValues() {
+        PolicyColumns.GroupAggregate allstate = columns.aggregate(List.of(AnalyticsDimension.PROVIDER),
+                PREMIUM, Map.of(), P50_P95).get(0);
+
+        assertThat(allstate.policies()).isEqualTo(2);
+        PolicyColumns.MeasureAggregate premium = allstate.measures().get(AnalyticsMeasure.PREMIUM_AMOUNT);
+        assertThat(premium.count()).isZero();
+        assertThat(premium.sum()).isZero();
+        assertThat(premium.min()).isEqualTo(PolicyColumns.NULL);
+        assertThat(premium.max()).isEqualTo(PolicyColumns.NULL);
+        assertThat(premium.percentiles()).containsExactly(PolicyColumns.NULL, PolicyColumns.NULL);
+    }
+
+    @Test
+    void filterAppliesBeforeGrouping() {
+        List<PolicyColumns.GroupAggregate> groups = columns.aggregate(List.of(AnalyticsDimension.PROVIDER),
+                PREMIUM, Map.of(AnalyticsDimension.STATUS, "EXPIRED"), P50_P95);
+
+        assertThat(groups).extracting(group -> group.key()[0]).containsExactly("Allstate", "Geico");
+        PolicyColumns.MeasureAggregate geico = groups.get(1).measures().get(AnalyticsMeasure.PREMIUM_AMOUNT);
+        assertThat(geico.count()).isEqualTo(2);
+        assertThat(geico.sum()).isEqualTo(120_000);
+        assertThat(geico.percentiles()).containsExactly(20_000, 100_000);
+    }
+
+    @Test
+    void statusThatMatchesNothingHasNoGroups() {
+        Map<AnalyticsDimension, Object> cancelled = Map.of(AnalyticsDimension.STATUS, "CANCELLED");
+
+        assertThat(columns.aggregate(List.of(AnalyticsDimension.PROVIDER), PREMIUM, cancelled, P50_P95)).isEmpty();
+
+        // Without a group by there is still one empty group
+        List<PolicyColumns.GroupAggregate> total = columns.aggregate(List.of(), PREMIUM, cancelled, P50_P95);
+        assertThat(total).hasSize(1);
+        assertThat(total.get(0).key()).isEmpty();
+        assertThat(total.get(0).policies()).isZero();
+        PolicyColumns.MeasureAggregate premium = total.get(0).measures().get(AnalyticsMeasure.PREMIUM_AMOUNT);
+        assertThat(premium.count()).isZero();
+        assertThat(premium.min()).isEqualTo(PolicyColumns.NULL);
+    }
+
+    @Test
+    void emptyGroupByAggregatesEveryRow() {
+        List<PolicyColumns.GroupAggregate> total = columns.aggregate(List.of(), PREMIUM, Map.of(), P50_P95);
+
+        assertThat(total).hasSize(1);
+        assertThat(total.get(0).key()).isEmpty();
+        assertThat(total.get(0).policies()).isEqualTo(9);
+        PolicyColumns.MeasureAggregate premium = total.get(0).measures().get(AnalyticsMeasure.PREMIUM_AMOUNT);
+        assertThat(premium.count()).isEqualTo(6);
+        assertThat(premium.sum()).isEqualTo(205_000);
+        assertThat(premium.min()).isEqualTo(5_000);
+        assertThat(premium.max()).isEqualTo(100_000);
+        assertThat(premium.percentiles()).containsExactly(20_000, 100_000);
+    }
+
+    @Test
+    void compositeKeysAboveTheDenseLimitAreGroupedSparsely() {
+        // 1025 providers by 1025 makes is past the 2^20 composites indexed directly
+        int size = 1025;
+        PolicyColumns.Builder builder = PolicyColumns.builder();
+        for (int i = 0; i < size; i++) {
+            builder.add(new Object[] { "P" + (10_000 + i), "FULL", "M" + (10_000 + i * 7 % size), 2020, "ACTIVE" },
+                    premium((long) i));
+        }
+        PolicyColumns wide = builder.build(LocalDateTime.now());
+
+        List<PolicyColumns.GroupAggregate> groups = wide.aggregate(
+                List.of(AnalyticsDimension.PROVIDER, AnalyticsDimension.VEHICLE_MAKE), PREMIUM, Map.of(), P50_P95);
+
+        assertThat(groups).hasSize(size);
+        for (int i = 0; i < size; i++) {
+            PolicyColumns.GroupAggregate group = groups.get(i);
+            assertThat(group.key()).containsExactly("P" + (10_000 + i), "M" + (10_000 + i * 7 % size));
+            assertThat(group.policies()).isEqualTo(1);
+            assertThat(group.measures().get(AnalyticsMeasure.PREMIUM_AMOUNT).sum()).isEqualTo(i);
+        }
+    }
+
+    private static Object[] dimensions(String provider, String status) {
+        return new Object[] { provider, "FULL", "Toyota", 2020, status };
+    }
+
+    private static Long[] premium(Long cents) {
+        return new Long[] { cents, null, null, null, null };
+    }
+}
@@ -0,0 +1,80 @@
+package com.insurance.app.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * When lookups are loaded at once and when they wait to share a batch
+ */
+class BatchCoalescerTest {
+
+    private final List<List<Integer>> loads = new CopyOnWriteArrayList<>();
+
+    @Test
+    void idleLookupsLoadWithoutWaitingForTheWindow() {
+        BatchCoalescer<Integer, String> coalescer = new BatchCoalescer<>(this::load, Duration.ofSeconds(30), 10);
+
+        long start = System.nanoTime();
+        assertThat(coalescer.get(1)).isEqualTo("v1");
+        assertThat(coalescer.get(2)).isEqualTo("v2");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(loads).containsExactly(List.of(1), List.of(2));
+    }
+
+    @Test
+    void lookupsArrivingDuringALoadShareOneBatch() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BatchCoalescer<Integer, String> coalescer = new BatchCoalescer<>(keys -> {
+            if (keys.contains(1)) {
+                loadStarted.countDown();
+                await(release);
+            }
+            return load(keys);
+        }, Duration.ofSeconds(1), 10);
+
+        try (ExecutorService callers = Executors.newFixedThreadPool(4)) {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> coalescer.get(1), callers);
+            assertThat(loadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            List<CompletableFuture<String>> queued = List.of(2, 3, 3).stream()
+                    .map(key -> CompletableFuture.supplyAsync(() -> coalescer.get(key), callers))
+                    .toList();
+            // Give the queued lookups time to join the batch before the running load ends
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("v1");
+            assertThat(queued.stream().map(CompletableFuture::join)).containsExactly("v2", "v3", "v3");
+        }
+        assertThat(loads).hasSize(2);
+        assertThat(loads.get(0)).containsExactly(1);
+        assertThat(loads.get(1)).containsExactlyInAnyOrder(2, 3);
+    }
+
+    private Map<Integer, String> load(List<Integer> keys) {
+        loads.add(List.copyOf(keys));
+        return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "v" + key));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
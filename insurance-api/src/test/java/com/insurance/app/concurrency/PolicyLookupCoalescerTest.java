@@ -0,0 +1,52 @@
+package com.insurance.app.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.repository.InsurancePolicyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Coalesced lookups run outside any service transaction, so they take bulkhead permits themselves
+ */
+class PolicyLookupCoalescerTest {
+
+    private final InsurancePolicyRepository policyRepository = mock(InsurancePolicyRepository.class);
+    private final DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofSeconds(1), new SimpleMeterRegistry());
+    private final AtomicInteger permitsDuringQuery = new AtomicInteger(-1);
+
+    @Test
+    void lookupsTakeABulkheadPermit() {
+        InsurancePolicyDto policy = InsurancePolicyDto.builder().id(7L).policyNumber("POL-7").build();
+        when(policyRepository.findDtosByIdIn(anyCollection(), any())).thenAnswer(invocation -> {
+            permitsDuringQuery.set(bulkhead.availablePermits());
+            return List.of(policy);
+        });
+        when(policyRepository.findDtosByPolicyNumberIn(anyCollection())).thenAnswer(invocation -> {
+            permitsDuringQuery.set(bulkhead.availablePermits());
+            return List.of(policy);
+        });
+        PolicyLookupCoalescer coalescer = new PolicyLookupCoalescer(policyRepository, Optional.of(bulkhead),
+                new SimpleMeterRegistry(), Duration.ofMillis(5), 10);
+
+        assertThat(coalescer.findById(7L)).contains(policy);
+        assertThat(permitsDuringQuery).hasValue(0);
+
+        permitsDuringQuery.set(-1);
+        assertThat(coalescer.findByPolicyNumber("POL-7")).contains(policy);
+        assertThat(permitsDuringQuery).hasValue(0);
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+}
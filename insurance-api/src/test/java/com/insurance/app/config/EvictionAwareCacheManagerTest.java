@@ -0,0 +1,62 @@
+package com.insurance.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Cache fills racing an eviction, in the order the cache interceptor calls the cache
+ */
+class EvictionAwareCacheManagerTest {
+
+    private final Cache cache = cacheManager().getCache("policies");
+
+    @Test
+    void missThenPutFillsTheCache() {
+        assertThat(cache).isInstanceOf(CaffeineCache.class);
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "v1");
+
+        assertThat(cache.get(1L).get()).isEqualTo("v1");
+    }
+
+    @Test
+    void fillLoadedBeforeAnEvictionIsDropped() {
+        assertThat(cache.get(1L)).isNull();
+        // The value changes and is evicted while the miss is being loaded
+        cache.evict(1L);
+        cache.put(1L, "old");
+        assertThat(cache.get(1L)).isNull();
+
+        cache.put(1L, "new");
+        assertThat(cache.get(1L).get()).isEqualTo("new");
+    }
+
+    @Test
+    void clearDropsFillsOfEveryKey() {
+        assertThat(cache.get(1L)).isNull();
+        cache.clear();
+        cache.put(1L, "old");
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void putsWithoutAMissAreKept() {
+        cache.evict(2L);
+        cache.put(2L, "v2");
+
+        assertThat(cache.get(2L).get()).isEqualTo("v2");
+    }
+
+    private static EvictionAwareCacheManager cacheManager() {
+        EvictionAwareCacheManager cacheManager = new EvictionAwareCacheManager();
+        cacheManager.setCacheSpecification("maximumSize=100");
+        cacheManager.setCacheNames(List.of("policies"));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,355 @@
+package com.insurance.app.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.insurance.app.service.PolicyExpiryService;
+import com.insurance.app.util.Constants;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the JDBC statements each API endpoint issues with cold caches, using Hibernate statistics
+ *
+ * Counts are fixed per endpoint whatever the page size or number of matching rows, so a lazy
+ * association touched per row (N+1) or an extra round trip fails here. The fixture policies are
+ * spread over every seeded vehicle and fill each page, so a per-row or per-vehicle load would show
+ * up, and full pages always need their count query.
+ */
+@SpringBootTest(properties = {
+        "app.lookup.coalesce-window=0ms",
+        "app.expiry.cron=-",
+        "app.analytics.refresh-interval=PT1H" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ApiStatementCountTest {
+
+    private static final String POLICIES = Constants.INSURANCE_URL;
+    private static final String VEHICLES = Constants.VEHICLE_URL;
+
+    private static final int FIXTURE_POLICIES = 30;
+    private static final int SEEDED_VEHICLES = 10;
+
+    private static boolean seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PolicyExpiryService expiryService;
+
+    private Statistics statistics;
+
+    /**
+     * Create active fixture policies through the API, so the in-memory search index and expiry calendar know them
+     * The seeded policies are all expired by the startup sweep
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (seeded) {
+            return;
+        }
+        for (int n = 0; n < FIXTURE_POLICIES; n++) {
+            String policy = "{\"policyNumber\":\"CNT-" + n + "\",\"provider\":\"Count Mutual\","
+                    + "\"vehicleId\":" + (n % SEEDED_VEHICLES + 1) + ",\"startDate\":\"2026-01-01\","
+                    + "\"endDate\":\"" + LocalDate.of(2090, 1, 1).plusDays(n) + "\","
+                    + "\"premiumAmount\":500.00,\"coverageType\":\"FULL\"}";
+            mockMvc.perform(post(POLICIES).contentType(MediaType.APPLICATION_JSON).content(policy))
+                    .andExpect(status().isCreated());
+        }
+        seeded = true;
+    }
+
+    static Stream<Arguments> readEndpoints() {
+        return Stream.of(
+                endpoint(POLICIES + "?pageSize=20", 2),
+                endpoint(POLICIES + "?limit=20", 1),
+                endpoint(POLICIES + "/1", 1),
+                endpoint(POLICIES + "/number/CNT-1", 1),
+                // Vehicle existence check, page, count
+                endpoint(POLICIES + "/vehicle/1?pageSize=3", 3),
+                endpoint(POLICIES + "/provider?provider=Count Mutual&pageSize=20", 1),
+                endpoint(POLICIES + "/expiry-range?startDate=2090-01-01&endDate=2090-12-31&pageSize=20", 1),
+                endpoint(POLICIES + "/expiry-range?startDate=2090-01-01&endDate=2090-12-31&pageSize=20&sortBy=endDate", 1),
+                endpoint(POLICIES + "/expiry-range/count?startDate=2090-01-01&endDate=2090-12-31", 0),
+                endpoint(POLICIES + "/active?pageSize=20", 2),
+                endpoint(POLICIES + "/expired?pageSize=5", 2),
+                endpoint(POLICIES + "/search?searchTerm=CNT&pageSize=20", 1),
+                // Sort keys of the matches, page
+                endpoint(POLICIES + "/search?searchTerm=CNT&pageSize=20&sortBy=endDate", 2),
+                endpoint(POLICIES + "/premium-range?minAmount=0&maxAmount=5000&pageSize=20", 2),
+                endpoint(POLICIES + "/query?provider=Count Mutual&status=ACTIVE&expiryFrom=2090-01-01&expiryTo=2090-12-31"
+                        + "&minPremium=100&pageSize=20&sortBy=vehicleMake", 2),
+                endpoint(POLICIES + "/query?searchTerm=CNT&maxPremium=1000&pageSize=20&sortBy=premiumAmount&sortDir=desc", 2),
+                endpoint(POLICIES + "/query?vehicleId=1&status=ACTIVE&limit=2", 1),
+                endpoint(POLICIES + "/query?searchTerm=&providerContains=count&pageSize=20", 2),
+                endpoint(POLICIES + "/query?providerContains=count&sortBy=endDate&limit=10", 2),
+                endpoint(POLICIES + "/stats", 0),
+                endpoint(POLICIES + "/analytics?groupBy=vehicleMake", 0),
+                endpoint(POLICIES + "/export", 1),
+                endpoint(POLICIES + "/export?format=csv&status=EXPIRED", 1),
+                endpoint(VEHICLES + "?pageSize=5", 2),
+                endpoint(VEHICLES + "/1", 1),
+                endpoint(VEHICLES + "/vin/JT2BF22K1W0123456", 1),
+                endpoint(VEHICLES + "/registration/ABC-1234", 1),
+                endpoint(VEHICLES + "/owner?lastName=Smith", 1),
+                endpoint(VEHICLES + "/owner?lastName=Smith&firstName=John", 1),
+                endpoint(VEHICLES + "/fleet?pageSize=5", 2));
+    }
+
+    private static Arguments endpoint(String url, long statements) {
+        return Arguments.of(url, statements);
+    }
+
+    @ParameterizedTest(name = "GET {0}")
+    @MethodSource("readEndpoints")
+    void readIssuesFixedStatements(String url, long statements) throws Exception {
+        assertStatements(statements, get(url));
+    }
+
+    @Test
+    void postedQueryIssuesFixedStatements() throws Exception {
+        String query = "{\"providerContains\":\"count\",\"expiryFrom\":\"2090-01-01\",\"minPremium\":100,"
+                + "\"pageSize\":20,\"sortBy\":\"endDate\",\"sortDir\":\"desc\"}";
+        // Page, count
+        assertStatements(2, post(POLICIES + "/query").contentType(MediaType.APPLICATION_JSON).content(query));
+    }
+
+    @Test
+    void batchGetIssuesOneStatementPerKeyKind() throws Exception {
+        JsonNode byIds = assertStatements(1, post(POLICIES + "/batch-get").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2,3,999999]}"));
+        assertThat(byIds.get("found").asInt()).isEqualTo(3);
+        assertThat(byIds.get("notFound").asInt()).isEqualTo(1);
+
+        // Ids, policy numbers
+        JsonNode mixed = assertStatements(2, post(POLICIES + "/batch-get").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2],\"policyNumbers\":[\"CNT-1\",\"CNT-2\",\"CNT-3\",\"NOPE\"]}"));
+        assertThat(mixed.get("found").asInt()).isEqualTo(5);
+    }
+
+    @Test
+    void importIssuesFixedStatementsPerChunk() throws Exception {
+        String prefix = "IMP-" + System.nanoTime() + "-";
+        // Vehicles, taken policy numbers, the insert is one JDBC batch outside Hibernate
+        JsonNode oneChunk = assertStatements(2, post(POLICIES + "/import")
+                .contentType(Constants.MEDIA_TYPE_NDJSON).content(importRows(prefix + "A", 3)));
+        assertThat(oneChunk.get("imported").asInt()).isEqualTo(3);
+
+        // Each chunk again, the vehicles of the second are all known after the first
+        JsonNode twoChunks = assertStatements(3, post(POLICIES + "/import")
+                .contentType(Constants.MEDIA_TYPE_NDJSON).content(importRows(prefix + "B", Constants.IMPORT_BATCH_SIZE + 1)));
+        assertThat(twoChunks.get("imported").asInt()).isEqualTo(Constants.IMPORT_BATCH_SIZE + 1);
+    }
+
+    @Test
+    void csvExportWithoutRowsStillHasItsHeader() throws Exception {
+        String csv = assertStatements(1, HttpStatus.OK, get(POLICIES + "/export?format=csv&status=CANCELLED"))
+                .getResponse().getContentAsString();
+        assertThat(csv).startsWith("id,policyNumber,provider,").endsWith(",vehicleImageUrl\n");
+        assertThat(csv.lines()).hasSize(1);
+
+        assertThat(assertStatements(1, HttpStatus.OK, get(POLICIES + "/export?status=CANCELLED"))
+                .getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void searchMatchesArePagedInSortOrder() throws Exception {
+        JsonNode page = assertStatements(2, get(POLICIES + "/search?searchTerm=CNT&sortBy=endDate&sortDir=desc&pageSize=5&pageNo=1"));
+        assertThat(page.get("totalItems").asLong()).isEqualTo(FIXTURE_POLICIES);
+        assertThat(page.get("policies").findValuesAsText("policyNumber"))
+                .containsExactly("CNT-24", "CNT-23", "CNT-22", "CNT-21", "CNT-20");
+
+        JsonNode window = assertStatements(2, get(POLICIES + "/query?searchTerm=CNT&sortBy=endDate&limit=4"));
+        assertThat(window.get("policies").findValuesAsText("policyNumber")).containsExactly("CNT-0", "CNT-1", "CNT-2", "CNT-3");
+        JsonNode next = assertStatements(2, get(POLICIES + "/query?searchTerm=CNT&sortBy=endDate&limit=4&after="
+                + window.get("nextCursor").asText()));
+        assertThat(next.get("policies").findValuesAsText("policyNumber")).containsExactly("CNT-4", "CNT-5", "CNT-6", "CNT-7");
+    }
+
+    @Test
+    void policyWritesIssueFixedStatements() throws Exception {
+        String vin = String.format("STMT%013d", System.nanoTime() % 10_000_000_000_000L);
+        String vehicle = "{\"make\":\"Volvo\",\"model\":\"V60\",\"year\":2024,\"vin\":\"" + vin + "\","
+                + "\"registrationNumber\":\"ST-1\",\"ownerFirstName\":\"Ada\",\"ownerLastName\":\"Count\"}";
+        // VIN check, insert, search index reload of the vehicle after commit
+        JsonNode createdVehicle = assertStatements(3, post(VEHICLES).contentType(MediaType.APPLICATION_JSON).content(vehicle));
+        long vehicleId = createdVehicle.get("id").asLong();
+
+        String policy = "{\"policyNumber\":\"" + vin + "\",\"provider\":\"Acme\",\"vehicleId\":" + vehicleId + ","
+                + "\"startDate\":\"2026-01-01\",\"endDate\":\"2099-01-01\",\"premiumAmount\":100.00,\"coverageType\":\"FULL\"}";
+        // Vehicle, insert
+        JsonNode createdPolicy = assertStatements(2, post(POLICIES).contentType(MediaType.APPLICATION_JSON).content(policy));
+        long policyId = createdPolicy.get("id").asLong();
+
+        // Policy joined with its vehicle, update
+        String eTag = assertStatements(2, HttpStatus.OK, put(POLICIES + "/" + policyId)
+                .contentType(MediaType.APPLICATION_JSON).content(policy.replace("Acme", "Acme Mutual")))
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        // Current policy for the If-Match check, policy joined with its vehicle, update
+        assertStatements(3, put(POLICIES + "/" + policyId).header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON).content(policy.replace("Acme", "Acme Group")));
+        // Policy, update
+        assertStatements(2, put(POLICIES + "/" + policyId + "/image").contentType(MediaType.IMAGE_PNG)
+                .content(new byte[] { 1, 2, 3 }));
+        // Image reference
+        assertStatements(1, get(POLICIES + "/" + policyId + "/image"));
+        // Policy, delete
+        assertStatements(2, delete(POLICIES + "/" + policyId));
+
+        // Vehicle, VIN check, update, search index reload
+        assertStatements(4, put(VEHICLES + "/" + vehicleId).contentType(MediaType.APPLICATION_JSON)
+                .content(vehicle.replace("V60", "V90")));
+        // Vehicle, policy existence check, delete, search index reload
+        assertStatements(4, delete(VEHICLES + "/" + vehicleId));
+    }
+
+    @Test
+    void conditionalRequestsIssueFixedStatements() throws Exception {
+        String policy = "{\"policyNumber\":\"ETAG-" + System.nanoTime() + "\",\"provider\":\"Acme\",\"vehicleId\":1,"
+                + "\"startDate\":\"2026-01-01\",\"endDate\":\"2099-01-01\",\"premiumAmount\":100.00,\"coverageType\":\"FULL\"}";
+        JsonNode created = assertStatements(2, post(POLICIES).contentType(MediaType.APPLICATION_JSON).content(policy));
+        long policyId = created.get("id").asLong();
+
+        // Policy, then 304 on the unchanged strong ETag
+        String eTag = assertStatements(1, HttpStatus.OK, get(POLICIES + "/" + policyId))
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        assertStatements(1, HttpStatus.NOT_MODIFIED, get(POLICIES + "/" + policyId).header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // The list ETag is checked by the interceptor before the handler runs
+        String listETag = assertStatements(2, HttpStatus.OK, get(POLICIES + "?pageSize=20"))
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(listETag).startsWith("W/");
+        assertStatements(0, HttpStatus.NOT_MODIFIED, get(POLICIES + "?pageSize=20").header(HttpHeaders.IF_NONE_MATCH, listETag));
+
+        // Policy for the If-Match check, nothing written
+        assertStatements(1, HttpStatus.PRECONDITION_FAILED, put(POLICIES + "/" + policyId)
+                .header(HttpHeaders.IF_MATCH, "\"0-stale\"")
+                .contentType(MediaType.APPLICATION_JSON).content(policy.replace("Acme", "Acme Mutual")));
+        // Policy joined with its vehicle, rejected on the stale body version
+        long staleVersion = created.get("version").asLong() - 1;
+        assertStatements(1, HttpStatus.PRECONDITION_FAILED, put(POLICIES + "/" + policyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(policy.replace("Acme", "Acme Mutual").replace("}", ",\"version\":" + staleVersion + "}")));
+
+        // Neither rejected update changed the policy, so the first ETag is still current
+        assertStatements(1, HttpStatus.NOT_MODIFIED, get(POLICIES + "/" + policyId).header(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertStatements(0, HttpStatus.NOT_MODIFIED, get(POLICIES + "?pageSize=20").header(HttpHeaders.IF_NONE_MATCH, listETag));
+    }
+
+    @Test
+    void unknownVehicleSortIsRejectedBeforeAnyQuery() throws Exception {
+        cacheManager.getCache(Constants.FLEET_CACHE).clear();
+        statistics.clear();
+
+        assertThatThrownBy(() -> mockMvc.perform(get(VEHICLES + "/fleet?sortBy=ownerEmail")))
+                .hasRootCauseMessage(Constants.ERROR_UNSUPPORTED_SORT_FIELD + "ownerEmail");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(((Cache<?, ?>) cacheManager.getCache(Constants.FLEET_CACHE).getNativeCache()).asMap()).isEmpty();
+    }
+
+    @Test
+    void expirySweepDoesNotLoadVehicles() throws Exception {
+        for (int n = 0; n < 3; n++) {
+            String policy = "{\"policyNumber\":\"DUE-" + System.nanoTime() + "\",\"provider\":\"Count Mutual\","
+                    + "\"vehicleId\":" + (n + 1) + ",\"startDate\":\"2020-01-01\",\"endDate\":\"2021-01-01\","
+                    + "\"premiumAmount\":500.00,\"coverageType\":\"FULL\"}";
+            mockMvc.perform(post(POLICIES).contentType(MediaType.APPLICATION_JSON).content(policy))
+                    .andExpect(status().isCreated());
+        }
+        statistics.clear();
+
+        assertThat(expiryService.expireDuePolicies()).isEqualTo(3);
+        // Lock the batch, update its status, nothing per policy or per vehicle
+        assertThat(statistics.getPrepareStatementCount()).as("statements of the expiry sweep").isEqualTo(2);
+    }
+
+    private static String importRows(String prefix, int count) {
+        StringBuilder rows = new StringBuilder();
+        for (int n = 0; n < count; n++) {
+            rows.append("{\"policyNumber\":\"").append(prefix).append(n).append("\",\"provider\":\"Import Mutual\",")
+                    .append("\"vehicleId\":").append(n % SEEDED_VEHICLES + 1).append(",\"startDate\":\"2026-01-01\",")
+                    .append("\"endDate\":\"2099-01-01\",\"premiumAmount\":100.00,\"coverageType\":\"FULL\"}\n");
+        }
+        return rows.toString();
+    }
+
+    /**
+     * Perform the request with cold caches and assert it succeeded with exactly the given number of statements
+     */
+    private JsonNode assertStatements(long expected, RequestBuilder request) throws Exception {
+        MvcResult result = performCounted(expected, request);
+        assertThat(result.getResponse().getStatus()).as("status of %s", describe(result)).isLessThan(300);
+        String body = result.getResponse().getContentAsString();
+        return body.isEmpty() || !body.startsWith("{") ? null : objectMapper.readTree(body);
+    }
+
+    /**
+     * Perform the request with cold caches and assert it answered the given status with exactly the given number
+     * of statements
+     */
+    private MvcResult assertStatements(long expected, HttpStatus expectedStatus, RequestBuilder request) throws Exception {
+        MvcResult result = performCounted(expected, request);
+        assertThat(result.getResponse().getStatus()).as("status of %s", describe(result))
+                .isEqualTo(expectedStatus.value());
+        return result;
+    }
+
+    private MvcResult performCounted(long expected, RequestBuilder request) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics.clear();
+
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).as("statements of %s", describe(result)).isEqualTo(expected);
+        return result;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
@@ -0,0 +1,165 @@
+package com.insurance.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.insurance.app.dto.PolicyFilter;
+import com.insurance.app.model.Vehicle;
+import com.insurance.app.util.Constants;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for each indexed repository query and fails when
+ * the plan falls back to a full scan of insurance_policies
+ *
+ * Queries that scan by design are not listed: findAllDtos and the statistics and search index rebuilds
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.insurance.app.repository.RecordingStatementInspector",
+        // The synthetic rows are committed, so they go to a database no other test class shares
+        "spring.datasource.url=jdbc:h2:mem:index_test_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InsurancePolicyRepositoryIndexTest {
+
+    private static final String FULL_SCAN = "insurance_policies.tableScan";
+
+    // Enough rows that the planner prefers an index over scanning a tiny seed table
+    private static final int SYNTHETIC_POLICIES = 20_000;
+
+    private static boolean seeded;
+
+    @Autowired
+    private InsurancePolicyRepository policyRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Seed synthetic policies on a separate auto-commit connection and refresh planner statistics
+     */
+    @BeforeEach
+    void seedSyntheticPolicies() throws SQLException {
+        if (seeded) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO insurance_policies (policy_number, provider, vehicle_id, start_date, "
+                    + "end_date, premium_amount, coverage_type, status) "
+                    + "SELECT 'SYN-' || n, 'Provider ' || MOD(n, 40), MOD(n, 10) + 1, "
+                    + "DATEADD('DAY', MOD(n, 3650), DATE '2015-01-01'), "
+                    + "DATEADD('DAY', MOD(n, 3650) + 365, DATE '2015-01-01'), "
+                    + "300 + MOD(n * 7, 2700), 'FULL', "
+                    + "CASE WHEN MOD(n, 3) = 0 THEN 'ACTIVE' ELSE 'EXPIRED' END "
+                    + "FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, " + SYNTHETIC_POLICIES + "))");
+            statement.execute("ANALYZE");
+        }
+        seeded = true;
+    }
+
+    static Stream<Arguments> indexedQueries() {
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        PageRequest page = PageRequest.of(1, 5, Sort.by("id"));
+        Vehicle vehicle = Vehicle.builder().id(1L).build();
+
+        return Stream.of(
+                query("findById", repository -> repository.findById(1L)),
+                query("findByPolicyNumber", repository -> repository.findByPolicyNumber("POL-123456-A")),
+                query("findVehicleImageById", repository -> repository.findVehicleImageById(1L)),
+                query("findByVehicle", repository -> repository.findByVehicle(vehicle)),
+                query("findByVehicleId", repository -> repository.findByVehicleId(1L, page)),
+                query("findByEndDateBetween", repository -> repository.findByEndDateBetween(
+                        today, today.plusDays(30), page)),
+                query("findByStatus", repository -> repository.findByStatus(Constants.POLICY_STATUS_EXPIRED, page)),
+                query("findDueForExpiry", repository -> repository.findDueForExpiry(
+                        Constants.POLICY_STATUS_ACTIVE, today, PageRequest.of(0, 5))),
+                query("findDtosByIdIn", repository -> repository.findDtosByIdIn(List.of(1L, 2L, 3L), page)),
+                query("findByPremiumAmountRange", repository -> repository.findByPremiumAmountRange(
+                        new BigDecimal("100"), new BigDecimal("900"), page)),
+                query("findDtosAfter(status)", repository -> repository.findDtosAfter(
+                        PolicyFilter.builder().status(Constants.POLICY_STATUS_ACTIVE).endDateAfter(today).build(),
+                        PolicySortField.END_DATE, Sort.Direction.ASC, today, 10L, 10)),
+                query("findDtosAfter(vehicle)", repository -> repository.findDtosAfter(
+                        PolicyFilter.builder().vehicleId(1L).build(),
+                        PolicySortField.ID, Sort.Direction.ASC, null, 10L, 10)),
+                query("findDtos(provider, expiry, premium)", repository -> repository.findDtos(
+                        PolicyFilter.builder().provider("Provider 7").expiryFrom(today).expiryTo(today.plusDays(30))
+                                .minPremium(new BigDecimal("500")).build(),
+                        PolicySortField.VEHICLE_MAKE, Sort.Direction.ASC, PageRequest.of(0, 5))),
+                query("findDtos(status, expiry)", repository -> repository.findDtos(
+                        PolicyFilter.builder().status(Constants.POLICY_STATUS_ACTIVE)
+                                .expiryFrom(today).expiryTo(today.plusDays(30)).build(),
+                        PolicySortField.END_DATE, Sort.Direction.DESC, PageRequest.of(0, 5))),
+                query("findDtos(vehicle, status)", repository -> repository.findDtos(
+                        PolicyFilter.builder().vehicleId(1L).status(Constants.POLICY_STATUS_ACTIVE).build(),
+                        PolicySortField.ID, Sort.Direction.ASC, PageRequest.of(0, 5))),
+                query("findDtos(ids, premium)", repository -> repository.findDtos(
+                        PolicyFilter.builder().policyIds(List.of(1L, 2L, 3L)).maxPremium(new BigDecimal("900")).build(),
+                        PolicySortField.PREMIUM_AMOUNT, Sort.Direction.ASC, PageRequest.of(0, 5))));
+    }
+
+    private static Arguments query(String name, Consumer<InsurancePolicyRepository> call) {
+        return Arguments.of(name, call);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexedQueries")
+    void queryDoesNotScanPolicies(String name, Consumer<InsurancePolicyRepository> call) throws SQLException {
+        RecordingStatementInspector.clear();
+        call.accept(policyRepository);
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertThat(statements).as("SQL issued by %s", name).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("plan of %s", sql).doesNotContainIgnoringCase(FULL_SCAN);
+        }
+    }
+
+    /**
+     * EXPLAIN a statement with placeholders; H2 plans at prepare time, so parameters are bound to null
+     */
+    private String explain(String sql) throws SQLException {
+        String explainable = sql
+                .replaceAll("(?i)offset \\? rows", "offset 5 rows")
+                .replaceAll("(?i)fetch first \\? rows only", "fetch first 5 rows only");
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + explainable)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                StringBuilder result = new StringBuilder();
+                while (plan.next()) {
+                    result.append(plan.getString(1)).append('\n');
+                }
+                return result.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.insurance.app.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.app.model.Vehicle;
+import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.routing.ReplicaRoutingDataSource.ReplicaPool;
+import com.insurance.app.util.Constants;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Routes reads and writes between two in-memory databases, the primary of the test profile and a
+ * replica migrated from the same scripts. Nothing replicates between them, so a row written to
+ * only one of them shows which database served a query.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replicas[0].username=sa",
+        "app.datasource.replicas[0].password=",
+        "app.datasource.heartbeat-interval=PT1H",
+        "app.datasource.max-lag=60s",
+        "app.lookup.coalesce-window=0ms",
+        "app.expiry.cron=-",
+        "app.analytics.refresh-interval=PT1H" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:insurance_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    static {
+        // The replica needs the schema before the context starts reading from it
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void catchUp() {
+        stampReplica(System.currentTimeMillis());
+        lagMonitor.measureLag();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        String vin = insertReplicaOnlyVehicle();
+
+        assertThat(findByVin(vin, true)).as("read-only transaction").isPresent();
+        assertThat(findByVin(vin, false)).as("read-write transaction").isEmpty();
+    }
+
+    @Test
+    void cachedLookupsUseThePrimary() throws Exception {
+        // Same keys on both databases, each with its own provider and make
+        JdbcTemplate primary = new JdbcTemplate(dataSource);
+        String policyNumber = "RR-" + System.nanoTime();
+        long vehicleId = 900_000 + System.nanoTime() % 100_000;
+        for (JdbcTemplate database : new JdbcTemplate[] { primary, REPLICA }) {
+            String name = database == REPLICA ? "Replica" : "Primary";
+            database.update("INSERT INTO insurance_policies (policy_number, provider, vehicle_id, start_date, end_date,"
+                    + " premium_amount, coverage_type, status) VALUES (?, ?, 1, '2026-01-01', '2090-01-01', 100.00, 'FULL', 'ACTIVE')",
+                    policyNumber, name + " Mutual");
+            database.update("INSERT INTO vehicles (id, vehicle_make, vehicle_model, vehicle_year, vehicle_vin, vehicle_registration,"
+                    + " owner_first_name, owner_last_name) VALUES (?, ?, '900', 1994, ?, 'RR-2', 'Ada', 'Replica')",
+                    vehicleId, name, String.format("PRIM%013d", vehicleId));
+        }
+
+        assertThat(body(get(Constants.INSURANCE_URL + "/number/" + policyNumber))).contains("Primary Mutual");
+        assertThat(body(get(Constants.VEHICLE_URL + "/" + vehicleId))).contains("Primary");
+    }
+
+    @Test
+    void unmeasuredReplicasAreSkipped() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            assertThat(new ReplicaPool(pool).isUsable(60)).isFalse();
+        }
+    }
+
+    @Test
+    void writesPinTheClientToThePrimary() throws Exception {
+        String policyNumber = "RR-" + System.nanoTime();
+        String policy = "{\"policyNumber\":\"" + policyNumber + "\",\"provider\":\"Routing Mutual\",\"vehicleId\":1,"
+                + "\"startDate\":\"2026-01-01\",\"endDate\":\"2090-01-01\",\"premiumAmount\":100.00,\"coverageType\":\"FULL\"}";
+        MvcResult created = mockMvc.perform(post(Constants.INSURANCE_URL).contentType(MediaType.APPLICATION_JSON).content(policy))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie sticky = created.getResponse().getCookie(Constants.REPLICA_STICKINESS_COOKIE);
+        assertThat(sticky).isNotNull();
+        assertThat(sticky.getMaxAge()).isEqualTo(5);
+
+        String query = Constants.INSURANCE_URL + "/query?provider=Routing Mutual&pageSize=50";
+        assertThat(body(get(query).cookie(sticky))).as("pinned read").contains(policyNumber);
+        assertThat(body(get(query))).as("read without the cookie").doesNotContain(policyNumber);
+        Cookie expired = new Cookie(Constants.REPLICA_STICKINESS_COOKIE, Long.toString(System.currentTimeMillis() - 1));
+        assertThat(body(get(query).cookie(expired))).as("read with an expired cookie").doesNotContain(policyNumber);
+    }
+
+    @Test
+    void laggingReplicasAreSkipped() {
+        String vin = insertReplicaOnlyVehicle();
+
+        stampReplica(System.currentTimeMillis() - 3_000);
+        lagMonitor.measureLag();
+        assertThat(lag()).isBetween(3.0, 10.0);
+        assertThat(findByVin(vin, true)).as("read within the lag limit").isPresent();
+
+        stampReplica(System.currentTimeMillis() - 120_000);
+        lagMonitor.measureLag();
+        assertThat(lag()).isGreaterThanOrEqualTo(120.0);
+        assertThat(findByVin(vin, true)).as("read past the lag limit").isEmpty();
+    }
+
+    private String insertReplicaOnlyVehicle() {
+        String vin = String.format("REPL%013d", System.nanoTime() % 10_000_000_000_000L);
+        REPLICA.update("INSERT INTO vehicles (vehicle_make, vehicle_model, vehicle_year, vehicle_vin, vehicle_registration,"
+                + " owner_first_name, owner_last_name) VALUES ('Saab', '900', 1994, ?, 'RR-1', 'Ada', 'Replica')", vin);
+        return vin;
+    }
+
+    private Optional<Vehicle> findByVin(String vin, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> vehicleRepository.findByVin(vin));
+    }
+
+    private String body(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    private static void stampReplica(long millis) {
+        REPLICA.update("UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1", millis);
+    }
+
+    private double lag() {
+        return meterRegistry.get("db.replica.lag").tag("replica", "replica-0").gauge().value();
+    }
+}
@@ -0,0 +1,101 @@
+package com.insurance.app.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Matching, ranking and maintenance of the in-memory trigram index
+ */
+class TrigramIndexTest {
+
+    private static final int ALL = SearchField.allFields();
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, document("POL-001", "ABC-1234", "Toyota", "Corolla", "Geico", "Ada Lovelace"));
+        index.put(2, document("POL-002", "XYZ-9876", "Toyota", "Camry", "Allstate", "Alan Turing"));
+        index.put(3, document("POL-003", "QWE-5555", "Honda", "Civic", "Geico", "Grace Hopper"));
+    }
+
+    @Test
+    void everyTermMustMatchSomeField() {
+        assertThat(index.search("toyota", ALL)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("toyota geico", ALL)).containsExactly(1L);
+        assertThat(index.search("toyota civic", ALL)).isEmpty();
+        assertThat(index.search("nissan", ALL)).isEmpty();
+    }
+
+    @Test
+    void fieldMaskLimitsTheFieldsSearched() {
+        assertThat(index.search("geico", SearchField.PROVIDER.mask())).containsExactly(1L, 3L);
+        assertThat(index.search("geico", SearchField.MAKE.mask())).isEmpty();
+    }
+
+    @Test
+    void betterMatchesComeFirst() {
+        // Whole value in a weighted field beats a match inside a word, ties keep key order
+        index.put(4, document("POL-004", "CAM-0001", "Toyota", "Camry Hybrid", "Geico", "Cam Smith"));
+        assertThat(index.search("camry", ALL)).containsExactly(2L, 4L);
+        assertThat(index.search("toyota", ALL)).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void termsShorterThanATrigramScanEveryDocument() {
+        assertThat(index.search("co", ALL)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("co civic", ALL)).containsExactly(3L);
+        assertThat(index.search("co geico", ALL)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("   ", ALL)).isEmpty();
+    }
+
+    @Test
+    void removedAndReplacedDocumentsNoLongerMatch() {
+        index.remove(1);
+        index.remove(42);
+        assertThat(index.search("toyota", ALL)).containsExactly(2L);
+        assertThat(index.get(1)).isNull();
+
+        index.put(2, document("POL-002", "XYZ-9876", "Volvo", "V60", "Allstate", "Alan Turing"));
+        assertThat(index.search("toyota", ALL)).isEmpty();
+        assertThat(index.search("volvo", ALL)).containsExactly(2L);
+        assertThat(index.get(2)[SearchField.MAKE.ordinal()]).isEqualTo("volvo");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactionKeepsLiveDocuments() {
+        index.clear();
+        for (long key = 0; key < 3000; key++) {
+            index.put(key, document("POL-" + key, "REG-" + key, key % 2 == 0 ? "Toyota" : "Honda", "Model", "Geico", "Owner"));
+        }
+        // Enough tombstones to outnumber the live documents, which triggers a compaction
+        for (long key = 0; key < 2000; key++) {
+            index.remove(key);
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("toyota", ALL)).hasSize(500).allMatch(key -> key >= 2000 && key % 2 == 0);
+        assertThat(index.search("pol-2999", ALL)).containsExactly(2999L);
+        assertThat(index.search("pol-1999", ALL)).isEmpty();
+
+        index.put(1999, document("POL-1999", "REG-1999", "Honda", "Model", "Geico", "Owner"));
+        assertThat(index.search("pol-1999", ALL)).containsExactly(1999L);
+        assertThat(index.size()).isEqualTo(1001);
+    }
+
+    private static String[] document(String policyNumber, String registration, String make, String model,
+            String provider, String owner) {
+        String[] values = new String[SearchField.values().length];
+        values[SearchField.POLICY_NUMBER.ordinal()] = policyNumber;
+        values[SearchField.REGISTRATION.ordinal()] = registration;
+        values[SearchField.MAKE.ordinal()] = make;
+        values[SearchField.MODEL.ordinal()] = model;
+        values[SearchField.PROVIDER.ordinal()] = provider;
+        values[SearchField.OWNER_NAME.ordinal()] = owner;
+        return values;
+    }
+}
@@ -0,0 +1,81 @@
+package com.insurance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.projection.PolicyExpiryView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Rebuilding the expiry calendar while policy changes keep committing
+ */
+class ExpiryCalendarServiceImplTest {
+
+    private static final LocalDate JAN = LocalDate.of(2030, 1, 1);
+    private static final LocalDate FEB = LocalDate.of(2030, 2, 1);
+    private static final LocalDate MAR = LocalDate.of(2030, 3, 1);
+    private static final LocalDate NEXT_YEAR = LocalDate.of(2031, 1, 1);
+
+    private final InsurancePolicyRepository policyRepository = mock(InsurancePolicyRepository.class);
+    private final ExpiryCalendarServiceImpl service = new ExpiryCalendarServiceImpl(policyRepository, new SimpleMeterRegistry());
+
+    @Test
+    void changesCommittedDuringARebuildSurviveTheSwap() {
+        // The rows are read before these changes commit, so they still show the old state
+        when(policyRepository.streamExpiryViews()).thenReturn(Stream.of(view(1, JAN), view(2, FEB))
+                .peek(view -> {
+                    if (view.getId() == 1) {
+                        service.onPolicyChanged(PolicyChangedEvent.updated(snapshot(2, FEB), snapshot(2, NEXT_YEAR)));
+                        service.onPolicyChanged(PolicyChangedEvent.created(snapshot(3, MAR)));
+                        service.onPolicyChanged(PolicyChangedEvent.deleted(snapshot(1, JAN)));
+                    }
+                }));
+
+        service.rebuild();
+
+        assertThat(service.findExpiring(JAN, MAR.plusDays(1), 0, 10, true)).containsExactly(3L);
+        assertThat(service.findExpiring(NEXT_YEAR, NEXT_YEAR, 0, 10, true)).containsExactly(2L);
+        assertThat(service.countExpiring(JAN, NEXT_YEAR)).isEqualTo(2);
+    }
+
+    @Test
+    void changesAfterTheRebuildApplyOnlyOnce() {
+        when(policyRepository.streamExpiryViews()).thenReturn(Stream.of(view(1, JAN)));
+        service.rebuild();
+
+        service.onPolicyChanged(PolicyChangedEvent.updated(snapshot(1, JAN), snapshot(1, FEB)));
+        when(policyRepository.streamExpiryViews()).thenReturn(Stream.of(view(1, FEB)));
+        service.rebuild();
+
+        assertThat(service.findExpiring(JAN, NEXT_YEAR, 0, 10, true)).containsExactly(1L);
+        assertThat(service.countExpiring(FEB, FEB)).isEqualTo(1);
+    }
+
+    private static PolicyExpiryView view(long id, LocalDate endDate) {
+        return new PolicyExpiryView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return endDate;
+            }
+        };
+    }
+
+    private static PolicySnapshot snapshot(long id, LocalDate endDate) {
+        return PolicySnapshot.builder().id(id).policyNumber("POL-" + id).endDate(endDate).build();
+    }
+}
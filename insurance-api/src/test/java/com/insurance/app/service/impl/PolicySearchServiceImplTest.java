@@ -0,0 +1,130 @@
+package com.insurance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.repository.projection.PolicySearchView;
+import com.insurance.app.repository.projection.VehicleSearchView;
+import com.insurance.app.search.SearchField;
+
+/**
+ * Rebuilding the search index while policy changes keep committing
+ */
+class PolicySearchServiceImplTest {
+
+    private final InsurancePolicyRepository policyRepository = mock(InsurancePolicyRepository.class);
+    private final VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+    private final PolicySearchServiceImpl service = new PolicySearchServiceImpl(policyRepository, vehicleRepository);
+
+    @Test
+    void changesCommittedDuringARebuildSurviveIt() {
+        when(vehicleRepository.findAllSearchViews()).thenReturn(List.of(vehicle(1, "Toyota")));
+        when(vehicleRepository.findSearchViewById(1L)).thenReturn(Optional.of(vehicle(1, "Toyota")));
+        // The rows are read before these changes commit, so they still show the old state
+        when(policyRepository.findAllSearchViews()).thenAnswer(invocation -> {
+            service.onPolicyChanged(PolicyChangedEvent.updated(snapshot(2, "Allstate"), snapshot(2, "Geico")));
+            service.onPolicyChanged(PolicyChangedEvent.created(snapshot(3, "Geico")));
+            service.onPolicyChanged(PolicyChangedEvent.deleted(snapshot(1, "Allstate")));
+            return List.of(policy(1, "Allstate"), policy(2, "Allstate"));
+        });
+
+        service.rebuild();
+
+        assertThat(service.search("geico", SearchField.PROVIDER)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(service.search("allstate", SearchField.PROVIDER)).isEmpty();
+        assertThat(service.search("toyota")).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void changesAfterTheRebuildAreNotReplayedByTheNextOne() {
+        when(vehicleRepository.findAllSearchViews()).thenReturn(List.of(vehicle(1, "Toyota")));
+        when(vehicleRepository.findSearchViewById(1L)).thenReturn(Optional.of(vehicle(1, "Toyota")));
+        when(policyRepository.findAllSearchViews()).thenReturn(List.of(policy(1, "Allstate")));
+        service.rebuild();
+
+        service.onPolicyChanged(PolicyChangedEvent.created(snapshot(2, "Geico")));
+        // The policy was deleted again before the next rebuild read its rows
+        when(policyRepository.findAllSearchViews()).thenReturn(List.of(policy(1, "Allstate")));
+        service.rebuild();
+
+        assertThat(service.search("geico", SearchField.PROVIDER)).isEmpty();
+        assertThat(service.search("allstate", SearchField.PROVIDER)).containsExactly(1L);
+    }
+
+    private static VehicleSearchView vehicle(long id, String make) {
+        return new VehicleSearchView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getMake() {
+                return make;
+            }
+
+            @Override
+            public String getModel() {
+                return "Model";
+            }
+
+            @Override
+            public String getRegistrationNumber() {
+                return "REG-" + id;
+            }
+
+            @Override
+            public String getVin() {
+                return "VIN-" + id;
+            }
+
+            @Override
+            public String getOwnerFirstName() {
+                return "Ada";
+            }
+
+            @Override
+            public String getOwnerLastName() {
+                return "Lovelace";
+            }
+        };
+    }
+
+    private static PolicySearchView policy(long id, String provider) {
+        return new PolicySearchView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getPolicyNumber() {
+                return "POL-" + id;
+            }
+
+            @Override
+            public String getProvider() {
+                return provider;
+            }
+
+            @Override
+            public Long getVehicleId() {
+                return 1L;
+            }
+        };
+    }
+
+    private static PolicySnapshot snapshot(long id, String provider) {
+        return PolicySnapshot.builder().id(id).policyNumber("POL-" + id).provider(provider).vehicleId(1L).build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.insurance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.insurance.app.dto.PolicyStatisticsDto;
+import com.insurance.app.event.PolicyChangedEvent;
+import com.insurance.app.event.PolicySnapshot;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.projection.PolicyStatisticsView;
+import com.insurance.app.util.Constants;
+
+/**
+ * Recomputing the statistics while policy changes keep committing
+ */
+class PolicyStatisticsServiceImplTest {
+
+    private static final LocalDate SOON = LocalDate.now().plusDays(5);
+
+    private final InsurancePolicyRepository policyRepository = mock(InsurancePolicyRepository.class);
+    private final PolicyStatisticsServiceImpl service = new PolicyStatisticsServiceImpl(policyRepository);
+
+    @Test
+    void changesAlreadyInTheRowsAreNotCountedTwice() {
+        // Committed before the query, but its listener only runs after the recompute
+        PolicySnapshot created = snapshot(3, "Geico", Constants.POLICY_STATUS_ACTIVE);
+        when(policyRepository.streamStatisticsViews()).thenReturn(Stream.of(
+                view(snapshot(1, "Geico", Constants.POLICY_STATUS_ACTIVE)),
+                view(snapshot(2, "Allstate", Constants.POLICY_STATUS_EXPIRED)),
+                view(created)));
+
+        service.recompute();
+        service.onPolicyChanged(PolicyChangedEvent.created(created));
+
+        PolicyStatisticsDto statistics = service.getStatistics(30);
+        assertThat(statistics.getTotal()).isEqualTo(3);
+        assertThat(statistics.getActive()).isEqualTo(2);
+        assertThat(statistics.getExpired()).isEqualTo(1);
+        assertThat(statistics.getExpiringSoon()).isEqualTo(2);
+        assertThat(statistics.getByProvider()).isEqualTo(Map.of("Geico", 2L, "Allstate", 1L));
+    }
+
+    @Test
+    void changesCommittedDuringARecomputeSurviveIt() {
+        // The rows are read before these changes commit, so they still show the old state
+        when(policyRepository.streamStatisticsViews()).thenReturn(Stream.of(
+                view(snapshot(1, "Geico", Constants.POLICY_STATUS_ACTIVE)),
+                view(snapshot(2, "Allstate", Constants.POLICY_STATUS_ACTIVE)))
+                .peek(view -> {
+                    if (view.getId() == 1) {
+                        service.onPolicyChanged(PolicyChangedEvent.updated(
+                                snapshot(2, "Allstate", Constants.POLICY_STATUS_ACTIVE),
+                                snapshot(2, "Allstate", Constants.POLICY_STATUS_EXPIRED)));
+                        service.onPolicyChanged(PolicyChangedEvent.deleted(snapshot(1, "Geico", Constants.POLICY_STATUS_ACTIVE)));
+                    }
+                }));
+
+        service.recompute();
+
+        PolicyStatisticsDto statistics = service.getStatistics(30);
+        assertThat(statistics.getTotal()).isEqualTo(1);
+        assertThat(statistics.getActive()).isZero();
+        assertThat(statistics.getExpired()).isEqualTo(1);
+        assertThat(statistics.getExpiringSoon()).isZero();
+        assertThat(statistics.getByProvider()).isEqualTo(Map.of("Allstate", 1L));
+    }
+
+    private static PolicySnapshot snapshot(long id, String provider, String status) {
+        return PolicySnapshot.builder().id(id).policyNumber("POL-" + id).provider(provider)
+                .coverageType("FULL").status(status).endDate(SOON).build();
+    }
+
+    private static PolicyStatisticsView view(PolicySnapshot policy) {
+        return new PolicyStatisticsView() {
+            @Override
+            public Long getId() {
+                return policy.getId();
+            }
+
+            @Override
+            public String getStatus() {
+                return policy.getStatus();
+            }
+
+            @Override
+            public String getProvider() {
+                return policy.getProvider();
+            }
+
+            @Override
+            public String getCoverageType() {
+                return policy.getCoverageType();
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return policy.getEndDate();
+            }
+        };
+    }
+}
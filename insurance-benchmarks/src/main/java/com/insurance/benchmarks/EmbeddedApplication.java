@@ -0,0 +1,38 @@
+package com.insurance.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line arguments that run the application against an in-memory H2 database in MySQL mode
+ * Passed as arguments rather than default properties, so they win over the packaged application.properties
+ */
+public final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    public static String[] arguments(String database, String... extra) {
+        List<String> arguments = new ArrayList<>(List.of("--spring.jpa.show-sql=false"));
+        arguments.addAll(List.of(profileArguments(database, extra)));
+        return arguments.toArray(new String[0]);
+    }
+
+    /**
+     * Same database, but SQL logging is left to the active profile, to measure what it costs
+     */
+    public static String[] profileArguments(String database, String... extra) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--app.expiry.cron=-",
+                "--app.reactive.enabled=false",
+                "--app.image-storage.path=target/" + database + "-images"));
+        arguments.addAll(List.of(extra));
+        return arguments.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.insurance.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.insurance.app.concurrency.PolicyLookupCoalescer;
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.model.InsurancePolicy;
+import com.insurance.app.model.Vehicle;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.VehicleRepository;
+import com.insurance.app.service.ExpiryCalendarService;
+import com.insurance.app.service.ImageStorageService;
+import com.insurance.app.service.PolicySearchService;
+import com.insurance.app.service.impl.InsurancePolicyServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Entity to DTO and DTO to entity mapping in InsurancePolicyServiceImpl, with stubbed repositories
+ * so only mapping, validation and image decoding are measured. Run with the gc profiler
+ * (on by default in BenchmarkRunner) for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MappingBenchmark {
+
+    /**
+     * Size in bytes of the decoded vehicleImage payload, 0 for a policy without an image
+     */
+    @Param({ "0", "65536" })
+    public int imageBytes;
+
+    private InsurancePolicyServiceImpl service;
+    private InsurancePolicyDto createRequest;
+
+    @Setup
+    public void setUp() {
+        Vehicle vehicle = SyntheticPolicies.vehicle(1);
+        InsurancePolicy stored = SyntheticPolicies.policy(1, vehicle, imageBytes > 0 ? "synthetic-image-hash" : null);
+
+        InsurancePolicyRepository policyRepository = Stubs.of(InsurancePolicyRepository.class, Map.of(
+                "findById", args -> Optional.of(stored),
+                "findDtosByIdIn", args -> List.of(projection(stored)),
+                "save", args -> args[0]));
+        VehicleRepository vehicleRepository = Stubs.of(VehicleRepository.class, Map.of(
+                "findById", args -> Optional.of(vehicle)));
+        ImageStorageService imageStorageService = Stubs.of(ImageStorageService.class, Map.of(
+                "store", args -> "synthetic-image-hash"));
+        PolicySearchService policySearchService = Stubs.of(PolicySearchService.class, Map.of());
+        ExpiryCalendarService expiryCalendarService = Stubs.of(ExpiryCalendarService.class, Map.of());
+        ApplicationEventPublisher eventPublisher = event -> { };
+
+        // Zero window, every lookup is loaded on its own as with coalescing turned off
+        PolicyLookupCoalescer lookupCoalescer = new PolicyLookupCoalescer(policyRepository, Optional.empty(),
+                new SimpleMeterRegistry(), Duration.ZERO, 1);
+
+        service = new InsurancePolicyServiceImpl(policyRepository, vehicleRepository, imageStorageService,
+                policySearchService, expiryCalendarService, lookupCoalescer, eventPublisher);
+
+        createRequest = SyntheticPolicies.dto(1, null);
+        createRequest.setId(null);
+        createRequest.setVehicleId(vehicle.getId());
+        if (imageBytes > 0) {
+            createRequest.setVehicleImage(SyntheticPolicies.imageDataUrl(imageBytes));
+        }
+    }
+
+    /**
+     * The read path behind GET /api/insurance/{id} on a cache miss, from the projection row to the DTO
+     */
+    @Benchmark
+    public InsurancePolicyDto mapToDto() {
+        return service.getPolicyById(1L);
+    }
+
+    /**
+     * The DTO Hibernate constructs for a DTO_SELECT row of the policy
+     */
+    private static InsurancePolicyDto projection(InsurancePolicy policy) {
+        Vehicle vehicle = policy.getVehicle();
+        return new InsurancePolicyDto(policy.getId(), policy.getPolicyNumber(), policy.getProvider(), vehicle.getId(),
+                vehicle.getRegistrationNumber(), vehicle.getMake(), vehicle.getModel(), policy.getStartDate(),
+                policy.getEndDate(), policy.getPremiumAmount(), policy.getCoverageType(), policy.getDeductibleAmount(),
+                policy.getLiabilityCoverageAmount(), policy.getComprehensiveCoverageAmount(),
+                policy.getCollisionCoverageAmount(), policy.getStatus(), policy.getNotes(), policy.getVersion(),
+                policy.getVehicleImageHash());
+    }
+
+    /**
+     * DTO to entity and back, including base64 decoding of the vehicleImage payload
+     */
+    @Benchmark
+    public InsurancePolicyDto createPolicy() {
+        return service.createPolicy(createRequest);
+    }
+}
@@ -0,0 +1,89 @@
+package com.insurance.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insurance.app.controller.InsurancePolicyController;
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.service.InsurancePolicyService;
+
+/**
+ * Serialization of the page response built by GET /api/insurance in each negotiable format, from a
+ * stubbed service so the controller's response assembly and Jackson are what is measured. With gzip
+ * the bytes are also compressed as server.compression would. The payload size of every combination
+ * is printed once per fork during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PageSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int pageSize;
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    @Param({ "false", "true" })
+    public boolean gzip;
+
+    private InsurancePolicyController controller;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<InsurancePolicyDto> policies = SyntheticPolicies.dtos(pageSize);
+        InsurancePolicyService policyService = Stubs.of(InsurancePolicyService.class, Map.of(
+                "getAllPolicies", args -> new PageImpl<>(policies, PageRequest.of(0, pageSize), pageSize * 50L)));
+        controller = new InsurancePolicyController(policyService, null, null, null, null, null);
+
+        // Same settings Spring Boot applies to the MVC message converters
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        System.out.printf("%n%s%s page of %d policies: %d bytes%n",
+                format, gzip ? "+gzip" : "", pageSize, serializePage().length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        Map<String, Object> body = controller.getAllPolicies(0, pageSize, "id", "asc", null, null).getBody();
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        if (!gzip) {
+            return bytes;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+package com.insurance.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.app.AppApplication;
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.dto.PolicyFilter;
+import com.insurance.app.model.InsurancePolicy;
+import com.insurance.app.repository.InsurancePolicyRepository;
+import com.insurance.app.repository.PolicySortField;
+import com.insurance.app.util.Constants;
+
+/**
+ * End to end repository queries against the Flyway schema on embedded H2 in MySQL mode,
+ * seeded with synthetic policies spread over the ten sample vehicles
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDate FIRST_END_DATE = LocalDate.of(2016, 1, 1);
+
+    @Param({ "1000000" })
+    public int policies;
+
+    private ConfigurableApplicationContext context;
+    private InsurancePolicyRepository repository;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(EmbeddedApplication.arguments("benchmark"));
+        repository = context.getBean(InsurancePolicyRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM insurance_policies", Long.class);
+        jdbcTemplate.execute("INSERT INTO insurance_policies (policy_number, provider, vehicle_id, start_date, "
+                + "end_date, premium_amount, coverage_type, status) "
+                + "SELECT 'SYN-' || n, 'Provider ' || MOD(n, 40), MOD(n, 10) + 1, "
+                + "DATEADD('DAY', MOD(n, 3650), DATE '2015-01-01'), "
+                + "DATEADD('DAY', MOD(n, 3650) + 365, DATE '2015-01-01'), "
+                + "300 + MOD(n * 7, 2700), 'FULL', "
+                + "CASE WHEN MOD(n, 3) = 0 THEN 'ACTIVE' ELSE 'EXPIRED' END "
+                + "FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, " + policies + "))");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<InsurancePolicy> findById() {
+        return repository.findById(firstId + random(policies));
+    }
+
+    @Benchmark
+    public Optional<InsurancePolicy> findByPolicyNumber() {
+        return repository.findByPolicyNumber("SYN-" + (1 + random(policies)));
+    }
+
+    @Benchmark
+    public Page<InsurancePolicyDto> findByStatusFirstPage() {
+        return repository.findByStatus(Constants.POLICY_STATUS_EXPIRED, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+    }
+
+    /**
+     * Offset pagination halfway through the expired policies
+     */
+    @Benchmark
+    public Page<InsurancePolicyDto> findByStatusDeepPage() {
+        int page = policies / 3 / PAGE_SIZE;
+        return repository.findByStatus(Constants.POLICY_STATUS_EXPIRED, PageRequest.of(page, PAGE_SIZE, Sort.by("id")));
+    }
+
+    /**
+     * Keyset pagination to the same depth as findByStatusDeepPage
+     */
+    @Benchmark
+    public List<InsurancePolicyDto> findDtosAfterDeep() {
+        PolicyFilter filter = PolicyFilter.builder().status(Constants.POLICY_STATUS_EXPIRED).build();
+        return repository.findDtosAfter(filter, PolicySortField.ID, Sort.Direction.ASC, null,
+                firstId + policies / 2, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<InsurancePolicyDto> findByEndDateBetween() {
+        LocalDate from = FIRST_END_DATE.plusDays(random(3620));
+        return repository.findByEndDateBetween(from, from.plusDays(30), PageRequest.of(0, PAGE_SIZE, Sort.by("endDate")));
+    }
+
+    @Benchmark
+    public Page<InsurancePolicyDto> findByVehicleId() {
+        return repository.findByVehicleId(1 + random(10), PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+    }
+
+    private static long random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,35 @@
+package com.insurance.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Interface stubs for benchmarking a single layer without its collaborators
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Proxy answering the named methods from the map and failing on any other call
+     */
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+        return type.cast(stub);
+    }
+}
@@ -0,0 +1,89 @@
+package com.insurance.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import com.insurance.app.dto.InsurancePolicyDto;
+import com.insurance.app.model.InsurancePolicy;
+import com.insurance.app.model.Vehicle;
+import com.insurance.app.util.Constants;
+
+/**
+ * Deterministic synthetic vehicles, policies and image payloads shared by the benchmarks
+ */
+final class SyntheticPolicies {
+
+    private static final String[] MAKES = { "Toyota", "Honda", "Ford", "Nissan", "Mazda" };
+    private static final String[] MODELS = { "Corolla", "Civic", "Focus", "Leaf", "CX-5" };
+    private static final LocalDate EPOCH = LocalDate.of(2015, 1, 1);
+
+    private SyntheticPolicies() {
+    }
+
+    static Vehicle vehicle(long n) {
+        return Vehicle.builder()
+                .id(n)
+                .make(MAKES[(int) (n % MAKES.length)])
+                .model(MODELS[(int) (n % MODELS.length)])
+                .year(2010 + (int) (n % 15))
+                .vin(String.format("SYNVIN%011d", n))
+                .registrationNumber(String.format("SYN-%06d", n))
+                .ownerFirstName("Owner")
+                .ownerLastName("No " + n)
+                .build();
+    }
+
+    static InsurancePolicy policy(long n, Vehicle vehicle, String imageHash) {
+        LocalDate start = EPOCH.plusDays(n % 3650);
+        return InsurancePolicy.builder()
+                .id(n)
+                .policyNumber("SYN-" + n)
+                .provider("Provider " + n % 40)
+                .vehicle(vehicle)
+                .startDate(start)
+                .endDate(start.plusYears(1))
+                .premiumAmount(BigDecimal.valueOf(300 + n * 7 % 2700, 0))
+                .coverageType("FULL")
+                .deductibleAmount(new BigDecimal("500.00"))
+                .liabilityCoverageAmount(new BigDecimal("100000.00"))
+                .comprehensiveCoverageAmount(new BigDecimal("25000.00"))
+                .collisionCoverageAmount(new BigDecimal("25000.00"))
+                .status(n % 3 == 0 ? Constants.POLICY_STATUS_ACTIVE : Constants.POLICY_STATUS_EXPIRED)
+                .notes("Synthetic policy " + n)
+                .version(0L)
+                .vehicleImageHash(imageHash)
+                .build();
+    }
+
+    static InsurancePolicyDto dto(long n, String imageHash) {
+        InsurancePolicy policy = policy(n, vehicle(n % 10 + 1), imageHash);
+        Vehicle vehicle = policy.getVehicle();
+        return new InsurancePolicyDto(policy.getId(), policy.getPolicyNumber(), policy.getProvider(),
+                vehicle.getId(), vehicle.getRegistrationNumber(), vehicle.getMake(), vehicle.getModel(),
+                policy.getStartDate(), policy.getEndDate(), policy.getPremiumAmount(), policy.getCoverageType(),
+                policy.getDeductibleAmount(), policy.getLiabilityCoverageAmount(),
+                policy.getComprehensiveCoverageAmount(), policy.getCollisionCoverageAmount(),
+                policy.getStatus(), policy.getNotes(), policy.getVersion(), imageHash);
+    }
+
+    static List<InsurancePolicyDto> dtos(int count) {
+        List<InsurancePolicyDto> dtos = new ArrayList<>(count);
+        for (long n = 1; n <= count; n++) {
+            dtos.add(dto(n, n % 4 == 0 ? "synthetic-image-hash" : null));
+        }
+        return dtos;
+    }
+
+    /**
+     * Data URL of random bytes of the given size, the same for every run
+     */
+    static String imageDataUrl(int bytes) {
+        byte[] content = new byte[bytes];
+        new Random(bytes).nextBytes(content);
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(content);
+    }
+}
@@ -0,0 +1,46 @@
+package com.insurance.benchmarks.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.insurance.benchmarks.load.LoadOptions.ExecutionMode;
+
+/**
+ * Runs the same load test in platform thread mode and then in virtual thread mode, and compares
+ * throughput and tail latency. Takes the LoadTest options, with defaults for a slow database:
+ * every statement takes 50ms and the pool allows 100 of them at once, so with 20 request
+ * threads the platform mode saturates well before the database does. That is the production
+ * picture (200 threads against a database that accepts more) scaled down to run on a laptop.
+ */
+public class ExecutionModeComparison {
+
+    private static final List<String> DEFAULTS = List.of("--db-latency=50ms", "--pool-size=100", "--tomcat-threads=20",
+            "--rps=200", "--mix=getById=40,getByNumber=20,byVehicle=10,statistics=20,create=10");
+
+    public static void main(String[] args) throws IOException {
+        // Later arguments win, so the command line overrides the defaults
+        List<String> arguments = new ArrayList<>(DEFAULTS);
+        arguments.addAll(List.of(args));
+        LoadOptions options = LoadOptions.parse(arguments.toArray(new String[0]));
+
+        Map<ExecutionMode, LatencyReport> reports = new EnumMap<>(ExecutionMode.class);
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            String name = mode.name().toLowerCase();
+            LoadOptions modeOptions = options.withMode(mode, Path.of("target/load-report-" + name + ".json"));
+            LatencyReport report = LoadTest.run(modeOptions);
+            System.out.println(name + " threads");
+            report.print(System.out);
+            report.write(modeOptions.report());
+            reports.put(mode, report);
+        }
+
+        System.out.printf("%nmode       offered rps  success rps   errors    p50 ms    p99 ms   p999 ms%n");
+        reports.forEach((mode, report) -> System.out.printf("%-10s %11.1f %12.1f %8d %9.2f %9.2f %9.2f%n",
+                mode.name().toLowerCase(), report.achievedRps(), report.successRps(), report.errorCount(),
+                report.percentileMs(50), report.percentileMs(99), report.percentileMs(99.9)));
+    }
+}
@@ -0,0 +1,139 @@
+package com.insurance.benchmarks.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Per endpoint latency histograms and error counts, safe to record into from many threads
+ * Latencies are kept in microseconds with three significant digits
+ */
+public class LatencyReport {
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private final Map<LoadEndpoint, Histogram> histograms = new EnumMap<>(LoadEndpoint.class);
+    private final Map<LoadEndpoint, AtomicLong> errors = new EnumMap<>(LoadEndpoint.class);
+    private final Histogram total = new ConcurrentHistogram(3);
+    private volatile Duration measured = Duration.ZERO;
+
+    public LatencyReport() {
+        for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+            histograms.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    /**
+     * Record a completed request, failed requests count as errors and their latency is still recorded
+     */
+    public void record(LoadEndpoint endpoint, long latencyNanos, boolean success) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        histograms.get(endpoint).recordValue(micros);
+        total.recordValue(micros);
+        if (!success) {
+            errors.get(endpoint).incrementAndGet();
+        }
+    }
+
+    /**
+     * Length of the measured window, used for the achieved request rate
+     */
+    public void setMeasured(Duration measured) {
+        this.measured = measured;
+    }
+
+    public long totalCount() {
+        return total.getTotalCount();
+    }
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * Latency at the percentile across all endpoints, in milliseconds
+     */
+    public double percentileMs(double percentile) {
+        return total.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double achievedRps() {
+        return measured.isZero() ? 0 : total.getTotalCount() * 1000.0 / measured.toMillis();
+    }
+
+    /**
+     * Rate of requests that succeeded, the throughput that matters once the server saturates
+     */
+    public double successRps() {
+        return measured.isZero() ? 0 : (total.getTotalCount() - errorCount()) * 1000.0 / measured.toMillis();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        histograms.forEach((endpoint, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, endpoint.getKey(), histogram, errors.get(endpoint).get());
+            }
+        });
+        printRow(out, "all", total, errorCount());
+        out.printf("achieved %.1f requests/s (%.1f successful) over %ds%n", achievedRps(), successRps(),
+                measured.toSeconds());
+    }
+
+    public void write(Path file) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        histograms.forEach((endpoint, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                endpoints.put(endpoint.getKey(), summary(histogram, errors.get(endpoint).get()));
+            }
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("measuredSeconds", measured.toSeconds());
+        report.put("achievedRps", achievedRps());
+        report.put("successRps", successRps());
+        report.put("all", summary(total, errorCount()));
+        report.put("endpoints", endpoints);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errorCount) {
+        out.printf("%-14s %9d %7d", name, histogram.getTotalCount(), errorCount);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errorCount) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errorCount);
+        summary.put("meanMs", histogram.getMean() / 1000.0);
+        summary.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+}
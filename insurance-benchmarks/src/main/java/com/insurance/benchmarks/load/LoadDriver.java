@@ -0,0 +1,100 @@
+package com.insurance.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open model load driver: requests are started on a fixed schedule at the target rate, each on
+ * its own virtual thread, regardless of how many are still in flight.
+ *
+ * Latency is measured from the scheduled start rather than the actual send, so a stalled server
+ * shows up in the percentiles instead of silently lowering the request rate (coordinated omission).
+ */
+public class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUrl;
+    private final SyntheticDataset data;
+    private final LoadOptions options;
+
+    public LoadDriver(URI baseUrl, SyntheticDataset data, LoadOptions options) {
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.options = options;
+    }
+
+    public LatencyReport run() {
+        LatencyReport report = new LatencyReport();
+        LoadEndpoint[] endpoints = mixTable(options.mix());
+        // Requests are drawn on the scheduling thread, so a seed always replays the same sequence
+        SplittableRandom random = new SplittableRandom(options.seed());
+
+        long interval = 1_000_000_000L / options.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        // Resources close in reverse, so the executor drains before the client shuts down
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; start + sequence * interval < end; sequence++) {
+                long scheduled = start + sequence * interval;
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+
+                LoadEndpoint endpoint = endpoints[random.nextInt(endpoints.length)];
+                HttpRequest request = endpoint.request(baseUrl, data, random, sequence)
+                        .timeout(REQUEST_TIMEOUT)
+                        .build();
+                boolean measured = scheduled >= measureFrom;
+                executor.execute(() -> send(client, request, endpoint, scheduled, measured ? report : null));
+            }
+        }
+
+        report.setMeasured(options.duration());
+        return report;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, LoadEndpoint endpoint, long scheduled,
+            LatencyReport report) {
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            success = false;
+        }
+        if (report != null) {
+            report.record(endpoint, System.nanoTime() - scheduled, success);
+        }
+    }
+
+    /**
+     * One slot per unit of weight, so a uniform draw follows the mix
+     */
+    private static LoadEndpoint[] mixTable(Map<LoadEndpoint, Integer> mix) {
+        List<LoadEndpoint> table = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(endpoint);
+            }
+        });
+        return table.toArray(new LoadEndpoint[0]);
+    }
+}
@@ -0,0 +1,114 @@
+package com.insurance.benchmarks.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import com.insurance.app.util.Constants;
+
+/**
+ * InsurancePolicyController endpoints replayed by the load driver, with their default share of the mix
+ */
+public enum LoadEndpoint {
+
+    GET_BY_ID("getById", 30, (base, data, random, sequence) ->
+            get(base, "/" + (data.firstPolicyId() + random.nextInt(data.policies())))),
+    GET_BY_NUMBER("getByNumber", 10, (base, data, random, sequence) ->
+            get(base, "/number/" + SyntheticDataGenerator.policyNumber(random.nextInt(data.policies())))),
+    LIST("list", 10, (base, data, random, sequence) ->
+            get(base, "?pageNo=" + random.nextInt(10) + "&pageSize=20")),
+    BY_VEHICLE("byVehicle", 10, (base, data, random, sequence) ->
+            get(base, "/vehicle/" + (data.firstVehicleId() + random.nextInt(data.vehicles())))),
+    BY_PROVIDER("byProvider", 5, (base, data, random, sequence) ->
+            get(base, "/provider?provider=" + encode(pick(random, SyntheticDataGenerator.PROVIDERS)))),
+    SEARCH("search", 10, (base, data, random, sequence) ->
+            get(base, "/search?searchTerm=" + encode(searchTerm(random)))),
+    EXPIRY_RANGE("expiryRange", 5, (base, data, random, sequence) -> {
+        LocalDate from = data.asOf().plusDays(random.nextInt(-30, 300));
+        return get(base, "/expiry-range?startDate=" + from + "&endDate=" + from.plusDays(30));
+    }),
+    ACTIVE("active", 5, (base, data, random, sequence) ->
+            get(base, "/active?pageNo=" + random.nextInt(5))),
+    PREMIUM_RANGE("premiumRange", 5, (base, data, random, sequence) -> {
+        int min = 100 * random.nextInt(5, 20);
+        return get(base, "/premium-range?minAmount=" + min + "&maxAmount=" + (min + 200));
+    }),
+    STATISTICS("statistics", 5, (base, data, random, sequence) -> get(base, "/stats")),
+    CREATE("create", 5, (base, data, random, sequence) -> {
+        LocalDate start = data.asOf().plusDays(random.nextInt(30));
+        String body = String.format("{\"policyNumber\":\"LOAD-%d\",\"provider\":\"%s\",\"vehicleId\":%d,"
+                + "\"startDate\":\"%s\",\"endDate\":\"%s\",\"premiumAmount\":%d.00,\"coverageType\":\"FULL\"}",
+                sequence, pick(random, SyntheticDataGenerator.PROVIDERS),
+                data.firstVehicleId() + random.nextInt(data.vehicles()), start, start.plusYears(1).minusDays(1),
+                600 + random.nextInt(1500));
+        return HttpRequest.newBuilder(base.resolve(Constants.INSURANCE_URL))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    });
+
+    private final String key;
+    private final int defaultWeight;
+    private final RequestFactory factory;
+
+    LoadEndpoint(String key, int defaultWeight, RequestFactory factory) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+        this.factory = factory;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Request against the server at the base URL, drawing its parameters from the random source
+     */
+    HttpRequest.Builder request(URI base, SyntheticDataset data, SplittableRandom random, long sequence) {
+        return factory.create(base, data, random, sequence);
+    }
+
+    public static LoadEndpoint fromKey(String key) {
+        for (LoadEndpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+
+    private static HttpRequest.Builder get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(Constants.INSURANCE_URL + path)).GET();
+    }
+
+    /**
+     * A make, a model or a registration prefix, as a user would type them
+     */
+    private static String searchTerm(SplittableRandom random) {
+        String[] make = SyntheticDataGenerator.MAKES_AND_MODELS[random.nextInt(SyntheticDataGenerator.MAKES_AND_MODELS.length)];
+        return switch (random.nextInt(3)) {
+            case 0 -> make[0];
+            case 1 -> make[1 + random.nextInt(make.length - 1)];
+            default -> SyntheticDataGenerator.registration(random.nextInt(10_000)).substring(0, 5);
+        };
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest.Builder create(URI base, SyntheticDataset data, SplittableRandom random, long sequence);
+    }
+}
@@ -0,0 +1,109 @@
+package com.insurance.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, parsed from --name=value arguments
+ *
+ * --vehicles, --policies  size of the generated data set
+ * --seed                  generator and request mix seed
+ * --rps                   target request rate
+ * --warmup, --duration    e.g. 10s, 2m; requests during the warmup are not recorded
+ * --mix                   endpoint weights, e.g. getById=50,search=20,create=5 (others drop to 0)
+ * --report                JSON report file
+ * --mode                  platform (default Tomcat thread pool) or virtual (virtual-threads profile)
+ * --db-latency            simulated latency added to every statement, e.g. 20ms, 0 for none
+ * --pool-size             connection pool size (and virtual mode permits), 0 keeps the application's
+ * --tomcat-threads        platform mode request threads, 0 keeps the application's (200)
+ * --profile               application profile to run: default (application.properties alone), prod or benchmark,
+ *                         with SQL logging as the profile sets it; none (default) forces SQL logging off
+ */
+public record LoadOptions(int vehicles, int policies, long seed, int rps, Duration warmup, Duration duration,
+        Map<LoadEndpoint, Integer> mix, Path report, ExecutionMode mode, Duration dbLatency, int poolSize,
+        int tomcatThreads, String profile) {
+
+    /**
+     * Profile value that activates no application profile
+     */
+    public static final String NO_PROFILE = "none";
+
+    /**
+     * How the application executes requests
+     */
+    public enum ExecutionMode {
+        PLATFORM, VIRTUAL
+    }
+
+    public static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        LoadOptions options = new LoadOptions(
+                Integer.parseInt(values.getOrDefault("vehicles", "10000")),
+                Integer.parseInt(values.getOrDefault("policies", "100000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("rps", "50")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                values.containsKey("mix") ? parseMix(values.get("mix")) : defaultMix(),
+                Path.of(values.getOrDefault("report", "target/load-report.json")),
+                ExecutionMode.valueOf(values.getOrDefault("mode", "platform").toUpperCase()),
+                DurationStyle.detectAndParse(values.getOrDefault("db-latency", "0ms")),
+                Integer.parseInt(values.getOrDefault("pool-size", "0")),
+                Integer.parseInt(values.getOrDefault("tomcat-threads", "0")),
+                values.getOrDefault("profile", NO_PROFILE));
+        if (options.vehicles <= 0 || options.policies <= 0 || options.rps <= 0) {
+            throw new IllegalArgumentException("vehicles, policies and rps must be positive");
+        }
+        return options;
+    }
+
+    public LoadOptions withMode(ExecutionMode mode, Path report) {
+        return new LoadOptions(vehicles, policies, seed, rps, warmup, duration, mix, report, mode, dbLatency, poolSize,
+                tomcatThreads, profile);
+    }
+
+    public LoadOptions withProfile(String profile, Path report) {
+        return new LoadOptions(vehicles, policies, seed, rps, warmup, duration, mix, report, mode, dbLatency, poolSize,
+                tomcatThreads, profile);
+    }
+
+    public boolean hasProfile() {
+        return !NO_PROFILE.equals(profile);
+    }
+
+    static Map<LoadEndpoint, Integer> defaultMix() {
+        Map<LoadEndpoint, Integer> mix = new EnumMap<>(LoadEndpoint.class);
+        for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+            mix.put(endpoint, endpoint.getDefaultWeight());
+        }
+        return mix;
+    }
+
+    static Map<LoadEndpoint, Integer> parseMix(String value) {
+        Map<LoadEndpoint, Integer> mix = new EnumMap<>(LoadEndpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight but got: " + entry);
+            }
+            mix.put(LoadEndpoint.fromKey(parts[0]), Integer.parseInt(parts[1]));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return mix;
+    }
+}
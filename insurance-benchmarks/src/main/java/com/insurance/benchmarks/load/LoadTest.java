@@ -0,0 +1,104 @@
+package com.insurance.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.app.AppApplication;
+import com.insurance.benchmarks.EmbeddedApplication;
+import com.insurance.benchmarks.load.LoadOptions.ExecutionMode;
+
+/**
+ * Starts the application on a random port against embedded H2, seeds it with synthetic data,
+ * replays the endpoint mix at the target rate and reports latency percentiles per endpoint
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws IOException {
+        LoadOptions options = LoadOptions.parse(args);
+        LatencyReport report = run(options);
+        report.print(System.out);
+        report.write(options.report());
+        System.out.println("Report written to " + options.report().toAbsolutePath());
+    }
+
+    /**
+     * Run one load test in a fresh application and database
+     */
+    static LatencyReport run(LoadOptions options) {
+        SeedOnStart seed = new SeedOnStart(options);
+        SpringApplicationBuilder application = new SpringApplicationBuilder(AppApplication.class).listeners(seed);
+        if (!options.dbLatency().isZero()) {
+            application.initializers(new SlowDatabase(options.dbLatency()));
+        }
+
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0"));
+        List<String> profiles = new ArrayList<>();
+        if (options.hasProfile()) {
+            profiles.add(options.profile());
+        }
+        if (options.mode() == ExecutionMode.VIRTUAL) {
+            profiles.add("virtual-threads");
+        }
+        if (!profiles.isEmpty()) {
+            arguments.add("--spring.profiles.active=" + String.join(",", profiles));
+        }
+        if (options.poolSize() > 0) {
+            arguments.add("--spring.datasource.hikari.maximum-pool-size=" + options.poolSize());
+            arguments.add("--spring.datasource.hikari.minimum-idle=" + options.poolSize());
+            if (options.mode() == ExecutionMode.VIRTUAL) {
+                arguments.add("--app.db.max-concurrency=" + options.poolSize());
+            }
+        }
+        if (options.tomcatThreads() > 0) {
+            arguments.add("--server.tomcat.threads.max=" + options.tomcatThreads());
+        }
+        String database = "loadtest-" + options.mode().name().toLowerCase();
+        String[] applicationArguments = arguments.toArray(new String[0]);
+
+        System.out.printf("Seeding %d vehicles and %d policies%n", options.vehicles(), options.policies());
+        try (ConfigurableApplicationContext context = application
+                .run(options.hasProfile() ? EmbeddedApplication.profileArguments(database, applicationArguments)
+                        : EmbeddedApplication.arguments(database, applicationArguments))) {
+            URI baseUrl = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+            System.out.printf("Driving %d requests/s at %s (%s threads, %s profile, %dms statement latency) for %ds after a %ds warmup%n",
+                    options.rps(), baseUrl, options.mode().name().toLowerCase(), options.profile(), options.dbLatency().toMillis(),
+                    options.duration().toSeconds(), options.warmup().toSeconds());
+            LatencyReport report = new LoadDriver(baseUrl, seed.dataset, options).run();
+
+            // The in-memory database outlives the context, free it for the next run in this JVM
+            context.getBean(JdbcTemplate.class).execute("DROP ALL OBJECTS");
+            return report;
+        }
+    }
+
+    /**
+     * Seeds once the context is refreshed but before the ready event, so the search index,
+     * statistics and expiry sweep all start from the generated data
+     */
+    private static final class SeedOnStart implements ApplicationListener<ApplicationStartedEvent> {
+
+        private final LoadOptions options;
+        private SyntheticDataset dataset;
+
+        SeedOnStart(LoadOptions options) {
+            this.options = options;
+        }
+
+        @Override
+        public void onApplicationEvent(ApplicationStartedEvent event) {
+            JdbcTemplate jdbcTemplate = event.getApplicationContext().getBean(JdbcTemplate.class);
+            dataset = new SyntheticDataGenerator(jdbcTemplate, options.seed(), LocalDate.now())
+                    .generate(options.vehicles(), options.policies());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.insurance.benchmarks.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same load test under each configuration profile and compares throughput and tail latency:
+ * default (application.properties as shipped, SQL logged to stdout), prod (SQL logging off, fixed pool,
+ * statement caching and JDBC batching) and benchmark (prod without statistics and histograms).
+ * Takes the LoadTest options, the rate defaults high enough that the default profile falls behind.
+ *
+ * Runs against embedded H2, which ignores the MySQL driver settings of the prod profile, so the
+ * statement caching gains only show against MySQL (point spring.datasource.url at one).
+ */
+public class ProfileComparison {
+
+    private static final List<String> PROFILES = List.of("default", "prod", "benchmark");
+
+    private static final List<String> DEFAULTS = List.of("--rps=500",
+            "--mix=getById=40,getByNumber=20,byVehicle=10,statistics=20,create=10");
+
+    public static void main(String[] args) throws IOException {
+        // Later arguments win, so the command line overrides the defaults
+        List<String> arguments = new ArrayList<>(DEFAULTS);
+        arguments.addAll(List.of(args));
+        LoadOptions options = LoadOptions.parse(arguments.toArray(new String[0]));
+
+        Map<String, LatencyReport> reports = new LinkedHashMap<>();
+        for (String profile : PROFILES) {
+            LoadOptions profileOptions = options.withProfile(profile, Path.of("target/load-report-" + profile + ".json"));
+            LatencyReport report = LoadTest.run(profileOptions);
+            System.out.println(profile + " profile");
+            report.print(System.out);
+            report.write(profileOptions.report());
+            reports.put(profile, report);
+        }
+
+        System.out.printf("%nprofile    offered rps  success rps   errors    p50 ms    p99 ms   p999 ms%n");
+        reports.forEach((profile, report) -> System.out.printf("%-10s %11.1f %12.1f %8d %9.2f %9.2f %9.2f%n",
+                profile, report.achievedRps(), report.successRps(), report.errorCount(),
+                report.percentileMs(50), report.percentileMs(99), report.percentileMs(99.9)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.insurance.benchmarks.load;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Slow database simulation: every statement execution sleeps for a fixed latency while holding
+ * its connection, as a query waiting on a remote MySQL would. Sleeping parks a virtual thread
+ * but blocks a platform thread, which is the difference the execution mode comparison measures.
+ */
+class SlowDatabase implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private final Duration latency;
+
+    SlowDatabase(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+            }
+        });
+    }
+
+    /**
+     * Proxy that wraps the connections and statements handed out, and delays statement executions
+     */
+    private <T> T wrap(Class<T> type, T target) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (self, method, args) -> {
+            if (method.getName().startsWith("execute") && Statement.class.isAssignableFrom(type)) {
+                Thread.sleep(latency);
+            }
+            Object result = invoke(method, target, args);
+            return switch (result) {
+                case CallableStatement statement -> wrap(CallableStatement.class, statement);
+                case PreparedStatement statement -> wrap(PreparedStatement.class, statement);
+                case Statement statement -> wrap(Statement.class, statement);
+                case Connection connection -> wrap(Connection.class, connection);
+                case null, default -> result;
+            };
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.insurance.benchmarks.load;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.insurance.app.util.Constants;
+
+/**
+ * Deterministic generator of vehicles and policies: the same seed, counts and reference date
+ * always produce the same rows.
+ *
+ * Providers follow a long tail market share, coverage types and terms a typical personal
+ * auto book, start dates are spread evenly over the three years before the reference date and
+ * the status follows from the end date, with a small share of cancellations.
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    static final String[] PROVIDERS = { "State Farm", "Progressive", "Geico", "Allstate", "USAA",
+            "Liberty Mutual", "Farmers Insurance", "Nationwide", "Travelers", "American Family",
+            "Safe Auto Insurance", "Erie Insurance", "Tesla Insurance" };
+    // Market share weights, roughly Zipf distributed
+    private static final double[] PROVIDER_WEIGHTS = { 18, 14, 13, 10, 6, 5, 5, 4, 3, 2, 1, 1, 0.5 };
+
+    private static final String[] COVERAGE_TYPES = { "FULL", "LIABILITY", "COLLISION", "COMPREHENSIVE" };
+    private static final double[] COVERAGE_WEIGHTS = { 55, 25, 12, 8 };
+    private static final double[] BASE_PREMIUMS = { 1400, 650, 900, 500 };
+
+    static final String[][] MAKES_AND_MODELS = {
+            { "Toyota", "Camry", "Corolla", "RAV4", "Tacoma" },
+            { "Honda", "Civic", "Accord", "CR-V" },
+            { "Ford", "F-150", "Mustang", "Explorer", "Escape" },
+            { "Chevrolet", "Silverado", "Tahoe", "Malibu", "Equinox" },
+            { "Nissan", "Altima", "Rogue", "Sentra" },
+            { "Jeep", "Grand Cherokee", "Wrangler", "Cherokee" },
+            { "BMW", "3 Series", "5 Series", "X5" },
+            { "Mercedes-Benz", "C-Class", "E-Class", "GLC" },
+            { "Tesla", "Model 3", "Model Y" },
+            { "Hyundai", "Elantra", "Tucson", "Santa Fe" } };
+    private static final double[] MAKE_WEIGHTS = { 15, 12, 13, 12, 8, 6, 4, 4, 4, 7 };
+
+    private static final String[] FIRST_NAMES = { "James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Susan", "Richard", "Sarah", "Joseph", "Karen" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore" };
+    private static final String[] COLORS = { "White", "Black", "Silver", "Gray", "Blue", "Red" };
+
+    private static final String VIN_CHARACTERS = "ABCDEFGHJKLMNPRSTUVWXYZ0123456789";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+    private final LocalDate asOf;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed, LocalDate asOf) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+        this.asOf = asOf;
+    }
+
+    /**
+     * Insert the vehicles, then the policies spread over them, and describe what was inserted
+     */
+    public SyntheticDataset generate(int vehicles, int policies) {
+        long firstVehicleId = nextId("vehicles");
+        insertVehicles(vehicles);
+        long firstPolicyId = nextId("insurance_policies");
+        insertPolicies(policies, firstVehicleId, vehicles);
+        return new SyntheticDataset(firstVehicleId, vehicles, firstPolicyId, policies, asOf);
+    }
+
+    /**
+     * Policy number of the n-th generated policy, unique and shaped like the sample data
+     */
+    static String policyNumber(long n) {
+        return String.format("SYN-%07d-%c", n, (char) ('A' + n % 26));
+    }
+
+    /**
+     * Registration of the n-th generated vehicle, unique for up to 26^3 * 10^4 vehicles
+     */
+    static String registration(long n) {
+        long letters = n / 10_000;
+        return "" + (char) ('A' + letters / 676 % 26) + (char) ('A' + letters / 26 % 26) + (char) ('A' + letters % 26)
+                + String.format("-%04d", n % 10_000);
+    }
+
+    private void insertVehicles(int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int n = 0; n < count; n++) {
+            String[] make = MAKES_AND_MODELS[pick(random, MAKE_WEIGHTS)];
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            batch.add(new Object[] {
+                    make[0], make[1 + random.nextInt(make.length - 1)], 2005 + random.nextInt(20),
+                    vin(random), registration(n), COLORS[random.nextInt(COLORS.length)],
+                    firstName, lastName,
+                    (firstName + "." + lastName + n + "@example.com").toLowerCase(),
+                    Date.valueOf(asOf.minusYears(18 + random.nextInt(60)).minusDays(random.nextInt(365))) });
+            if (batch.size() == BATCH_SIZE) {
+                flushVehicles(batch);
+            }
+        }
+        flushVehicles(batch);
+    }
+
+    private void flushVehicles(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO vehicles (vehicle_make, vehicle_model, vehicle_year, vehicle_vin, "
+                + "vehicle_registration, vehicle_color, owner_first_name, owner_last_name, owner_email, owner_dob) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private void insertPolicies(int count, long firstVehicleId, int vehicles) {
+        // Independent of the vehicle stream, so changing the vehicle count only moves policies between vehicles
+        SplittableRandom random = new SplittableRandom(seed).split();
+        LocalDate earliestStart = asOf.minusYears(3);
+        int startDays = (int) (asOf.toEpochDay() - earliestStart.toEpochDay());
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int n = 0; n < count; n++) {
+            int coverage = pick(random, COVERAGE_WEIGHTS);
+            LocalDate start = earliestStart.plusDays(random.nextInt(startDays));
+            LocalDate end = (random.nextInt(5) == 0 ? start.plusMonths(6) : start.plusYears(1)).minusDays(1);
+
+            String status = end.isBefore(asOf) ? Constants.POLICY_STATUS_EXPIRED : Constants.POLICY_STATUS_ACTIVE;
+            if (random.nextInt(50) == 0) {
+                status = Constants.POLICY_STATUS_CANCELLED;
+            }
+
+            // Log-normal around the coverage base premium
+            double premium = BASE_PREMIUMS[coverage] * Math.exp(0.35 * random.nextGaussian());
+            batch.add(new Object[] {
+                    policyNumber(n), PROVIDERS[pick(random, PROVIDER_WEIGHTS)],
+                    firstVehicleId + random.nextInt(vehicles), Date.valueOf(start), Date.valueOf(end),
+                    money(premium), COVERAGE_TYPES[coverage], money(250 + 250 * random.nextInt(4)),
+                    money(50_000 * (1 + random.nextInt(6))),
+                    coverage == 1 ? null : money(10_000 + 5_000 * random.nextInt(9)),
+                    coverage == 1 ? null : money(10_000 + 5_000 * random.nextInt(9)),
+                    status });
+            if (batch.size() == BATCH_SIZE) {
+                flushPolicies(batch);
+            }
+        }
+        flushPolicies(batch);
+    }
+
+    private void flushPolicies(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO insurance_policies (policy_number, provider, vehicle_id, start_date, "
+                + "end_date, premium_amount, coverage_type, deductible_amount, liability_coverage_amount, "
+                + "comprehensive_coverage_amount, collision_coverage_amount, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+    }
+
+    private static String vin(SplittableRandom random) {
+        char[] vin = new char[17];
+        for (int i = 0; i < vin.length; i++) {
+            vin[i] = VIN_CHARACTERS.charAt(random.nextInt(VIN_CHARACTERS.length()));
+        }
+        return new String(vin);
+    }
+
+    /**
+     * Index drawn with probability proportional to its weight
+     */
+    static int pick(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble(total);
+        for (int i = 0; i < weights.length - 1; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,9 @@
+package com.insurance.benchmarks.load;
+
+import java.time.LocalDate;
+
+/**
+ * Id ranges and reference date of a generated data set, used to aim requests at rows that exist
+ */
+public record SyntheticDataset(long firstVehicleId, int vehicles, long firstPolicyId, int policies, LocalDate asOf) {
+}
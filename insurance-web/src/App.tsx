@@ -10,7 +10,7 @@ import ViewPolicyModal from './components/ViewPolicyModal'
 import EditPolicyModal from './components/EditPolicyModal'
 
 // Import types
-import { Policy, ApiResponse, PolicyFormData } from './types'
+import { Policy, ApiResponse, PolicyFormData, PolicyStatistics } from './types'
 
 // Define API base URL
 const API_BASE_URL = 'http://localhost:8080';
@@ -183,31 +183,15 @@ function App() {
   // Fetch statistics
   const fetchStatistics = async () => {
     try {
-      const activeResponse = await axios.get<ApiResponse>(
-        `${API_BASE_URL}/api/insurance/active?pageNo=0&pageSize=1&sortBy=id&sortDir=asc`
-      );
-      
-      const expiredResponse = await axios.get<ApiResponse>(
-        `${API_BASE_URL}/api/insurance/expired?pageNo=0&pageSize=1&sortBy=id&sortDir=asc`
-      );
-      
-      const allResponse = await axios.get<ApiResponse>(
-        `${API_BASE_URL}/api/insurance?pageNo=0&pageSize=1&sortBy=id&sortDir=asc`
-      );
-      
-      const today = new Date();
-      const thirtyDaysLater = new Date();
-      thirtyDaysLater.setDate(today.getDate() + 30);
-      
-      const expiringSoonResponse = await axios.get<ApiResponse>(
-        `${API_BASE_URL}/api/insurance/expiry-range?startDate=${formatDate(today)}&endDate=${formatDate(thirtyDaysLater)}&pageNo=0&pageSize=1&sortBy=endDate&sortDir=asc`
+      const response = await axios.get<PolicyStatistics>(
+        `${API_BASE_URL}/api/insurance/stats?expiringWithinDays=30`
       );
       
       setStats({
-        total: allResponse.data.totalItems,
-        active: activeResponse.data.totalItems,
-        expiringSoon: expiringSoonResponse.data.totalItems,
-        expired: expiredResponse.data.totalItems
+        total: response.data.total,
+        active: response.data.active,
+        expiringSoon: response.data.expiringSoon,
+        expired: response.data.expired
       });
       
     } catch (err) {
@@ -215,11 +199,6 @@ function App() {
     }
   };
   
-  // Helper function to format date for API
-  const formatDate = (date: Date): string => {
-    return date.toISOString().split('T')[0];
-  };
-  
   // Handle page change
   const handlePageChange = (page: number) => {
     fetchPolicies(page - 1);
@@ -40,8 +40,6 @@ const ViewPolicyModal: React.FC<ViewPolicyModalProps> = ({
     try {
       const response = await axios.get<DetailedPolicy>(`http://localhost:8080/api/insurance/${id}`);
       console.log('Policy details received:', response.data);
-      console.log('Received image length:', response.data.vehicleImage?.length || 0);
-      console.log('Image preview:', response.data.vehicleImage?.substring(0, 50) + '...');
       setDetailedPolicy(response.data);
     } catch (err) {
       setError('Failed to fetch policy details');
@@ -126,12 +124,12 @@ const ViewPolicyModal: React.FC<ViewPolicyModalProps> = ({
         ) : (
           <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
             {/* Vehicle Image */}
-            {displayPolicy.vehicleImage && (
+            {displayPolicy.vehicleImageUrl && (
               <div className="col-span-2">
                 <h3 className="text-lg font-medium text-blue-700 mb-3">Vehicle Image</h3>
                 <div className="bg-blue-50 p-4 rounded-lg flex justify-center">
                   <img
-                    src={displayPolicy.vehicleImage}
+                    src={`http://localhost:8080${displayPolicy.vehicleImageUrl}`}
                     alt="Vehicle"
                     className="max-h-64 object-contain rounded-lg"
                   />
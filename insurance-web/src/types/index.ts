@@ -16,7 +16,7 @@ export interface Policy {
   collisionCoverageAmount: number;
   status: string;
   notes: string;
-  vehicleImage?: string;
+  vehicleImageUrl?: string;
 }
 
 export interface ApiResponse {
@@ -26,6 +26,17 @@ export interface ApiResponse {
   totalPages: number;
 }
 
+export interface PolicyStatistics {
+  total: number;
+  active: number;
+  expired: number;
+  expiringSoon: number;
+  expiringWithinDays: number;
+  asOf: string;
+  byProvider: Record<string, number>;
+  byCoverageType: Record<string, number>;
+}
+
 export interface PolicyFormData {
   policyNumber: string;
   provider: string;